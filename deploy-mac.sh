@@ -139,7 +139,7 @@ check_jar() {
 prepare_data_dir() {
     echo -e "${YELLOW}→ Preparando directorios...${NC}"
 
-    DATA_DIR="src/main/resources/data"
+    DATA_DIR="data"
     if [ ! -d "$DATA_DIR" ]; then
         mkdir -p "$DATA_DIR"
         echo -e "${GREEN}✓ Directorio de datos creado${NC}"
@@ -150,7 +150,7 @@ REM Crear el directorio de datos si no existe
 :prepare_data_dir
 echo [+] Preparando directorios...
 
-set DATA_DIR=src\main\resources\data
+set DATA_DIR=data
 if not exist "%DATA_DIR%" (
     mkdir "%DATA_DIR%"
     echo [OK] Directorio de datos creado
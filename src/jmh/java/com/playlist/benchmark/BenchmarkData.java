@@ -0,0 +1,57 @@
+package com.playlist.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.playlist.model.Video;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos sintéticos y configuración comunes a los benchmarks
+ */
+final class BenchmarkData {
+
+    private static final char[] ALFABETO =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Videos con ids de YouTube distintos y likes al azar (semilla fija, así cada
+     * corrida mide los mismos datos)
+     */
+    static List<Video> videos(int cantidad) {
+        Random random = new Random(42);
+        List<Video> videos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Video video = new Video("Video de prueba " + i, "https://youtu.be/" + youtubeId(i));
+            video.setLikes(random.nextInt(1000));
+            video.setFavorito(random.nextInt(10) == 0);
+            videos.add(video);
+        }
+        return videos;
+    }
+
+    /**
+     * Sin Spring, logback registra todo en DEBUG: los logs de cada operación
+     * medirían la consola en lugar del código
+     */
+    static void silenciarLogs() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    // Id de 11 caracteres distinto para cada número
+    private static String youtubeId(int numero) {
+        char[] id = new char[11];
+        long resto = numero;
+        for (int i = id.length - 1; i >= 0; i--) {
+            id[i] = ALFABETO[(int) (resto & 63)];
+            resto >>>= 6;
+        }
+        return new String(id);
+    }
+}
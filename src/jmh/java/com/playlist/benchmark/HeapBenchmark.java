@@ -0,0 +1,104 @@
+package com.playlist.benchmark;
+
+import com.playlist.model.Video;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.VideoRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memoria que ocupan los videos residentes
+ *
+ * Cada invocación crea los videos y los carga en un repositorio en memoria, y
+ * mide el heap ocupado tras forzar varias recolecciones. Se informan como
+ * contadores los bytes por video de los objetos {@link Video} sueltos y del
+ * repositorio completo (videos más índices secundarios); el tiempo es el de la carga.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@Warmup(iterations = 1)
+// Una sola medición: JMH suma entre iteraciones los contadores de tipo EVENTS
+@Measurement(iterations = 1)
+public class HeapBenchmark {
+
+    @Param({"1000000"})
+    private int tamano;
+
+    private VideoRepository repository;
+
+    /**
+     * Bytes por video de la última medición
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memoria {
+        public long bytesPorVideo;
+        public long bytesPorVideoEnRepositorio;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            bytesPorVideo = 0;
+            bytesPorVideoEnRepositorio = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        BenchmarkData.silenciarLogs();
+    }
+
+    @TearDown(Level.Iteration)
+    public void cerrar() {
+        if (repository != null) {
+            repository.close();
+            repository = null;
+        }
+    }
+
+    @Benchmark
+    public long cargarRepositorio(Memoria memoria) throws InterruptedException {
+        long base = memoriaUsada();
+        List<Video> videos = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            String youtubeId = String.format("vid%08d", i);
+            videos.add(new Video("Video " + i, "https://www.youtube.com/watch?v=" + youtubeId));
+        }
+        memoria.bytesPorVideo = (memoriaUsada() - base) / tamano;
+
+        repository = new InMemoryVideoRepository();
+        repository.saveAll(videos);
+        videos = null;
+        memoria.bytesPorVideoEnRepositorio = (memoriaUsada() - base) / tamano;
+        return repository.count();
+    }
+
+    /**
+     * Memoria ocupada del heap tras forzar varias recolecciones
+     */
+    private static long memoriaUsada() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,221 @@
+package com.playlist.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga contra la aplicación en ejecución: lecturas y likes mezclados
+ *
+ * <pre>
+ * LoadTest [url] [usuarios] [segundos] [porcentajeLikes]
+ * </pre>
+ * Cada usuario hace una petición detrás de otra (carga cerrada). Las lecturas se
+ * reparten entre una página por likes, un video por id y las estadísticas; el resto
+ * son likes. Informa, por tipo de operación, throughput y latencias p50, p99 y p99.9,
+ * sin contar los primeros segundos de calentamiento.
+ *
+ * Para comparar los modos se corre contra el servidor con y sin
+ * spring.threads.virtual.enabled=true (requiere Java 21, perfil java21)
+ *
+ * No es un benchmark JMH ni va en el jar de la aplicación: se compila con el
+ * perfil jmh y se corre desde target/test-classes
+ */
+public final class LoadTest {
+
+    private static final int CALENTAMIENTO_SEGUNDOS = 5;
+    private static final int VIDEOS_MINIMOS = 100;
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8081";
+        int usuarios = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int porcentajeLikes = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<String> ids = prepararVideos(client, url);
+        System.out.printf("%d usuarios, %d s (+%d s de calentamiento), %d%% likes, %d videos%n",
+                usuarios, segundos, CALENTAMIENTO_SEGUNDOS, porcentajeLikes, ids.size());
+
+        long inicioMedicion = System.nanoTime() + CALENTAMIENTO_SEGUNDOS * 1_000_000_000L;
+        long fin = inicioMedicion + segundos * 1_000_000_000L;
+        Usuario[] trabajadores = new Usuario[usuarios];
+        Thread[] hilos = new Thread[usuarios];
+        for (int i = 0; i < usuarios; i++) {
+            trabajadores[i] = new Usuario(client, url, ids, porcentajeLikes, inicioMedicion, fin);
+            hilos[i] = new Thread(trabajadores[i], "carga-" + i);
+            hilos[i].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        Latencias lecturas = new Latencias();
+        Latencias likes = new Latencias();
+        for (Usuario usuario : trabajadores) {
+            lecturas.agregar(usuario.lecturas);
+            likes.agregar(usuario.likes);
+        }
+        Latencias total = new Latencias();
+        total.agregar(lecturas);
+        total.agregar(likes);
+
+        lecturas.informar("lecturas", segundos);
+        likes.informar("likes", segundos);
+        total.informar("total", segundos);
+    }
+
+    /**
+     * Ids de los videos a usar; si la playlist tiene pocos, agrega los que falten
+     */
+    private static List<String> prepararVideos(HttpClient client, String url)
+            throws IOException, InterruptedException {
+        List<String> ids = leerIds(client, url);
+        for (int i = ids.size(); i < VIDEOS_MINIMOS; i++) {
+            String youtubeId = String.format("carga%06d", ThreadLocalRandom.current().nextInt(1_000_000));
+            String cuerpo = "nombre=Prueba+de+carga+" + i + "&link=https://youtu.be/" + youtubeId;
+            client.send(HttpRequest.newBuilder(URI.create(url + "/api/videos"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+        return ids.size() >= VIDEOS_MINIMOS ? ids : leerIds(client, url);
+    }
+
+    private static List<String> leerIds(HttpClient client, String url) throws IOException, InterruptedException {
+        String cuerpo = client.send(HttpRequest.newBuilder(
+                URI.create(url + "/api/videos?limit=" + VIDEOS_MINIMOS + "&fields=id")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(cuerpo);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Usuario virtual: hace peticiones hasta el fin de la prueba y anota sus latencias
+     */
+    private static final class Usuario implements Runnable {
+
+        private final HttpClient client;
+        private final String url;
+        private final List<String> ids;
+        private final int porcentajeLikes;
+        private final long inicioMedicion;
+        private final long fin;
+        private final Latencias lecturas = new Latencias();
+        private final Latencias likes = new Latencias();
+
+        private Usuario(HttpClient client, String url, List<String> ids, int porcentajeLikes,
+                        long inicioMedicion, long fin) {
+            this.client = client;
+            this.url = url;
+            this.ids = ids;
+            this.porcentajeLikes = porcentajeLikes;
+            this.inicioMedicion = inicioMedicion;
+            this.fin = fin;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                String id = ids.get(random.nextInt(ids.size()));
+                boolean like = random.nextInt(100) < porcentajeLikes;
+                HttpRequest request;
+                if (like) {
+                    request = HttpRequest.newBuilder(URI.create(url + "/api/videos/" + id + "/like"))
+                            .POST(HttpRequest.BodyPublishers.noBody()).build();
+                } else {
+                    String ruta = switch (random.nextInt(3)) {
+                        case 0 -> "/api/videos?limit=20&sort=likes";
+                        case 1 -> "/api/videos/" + id;
+                        default -> "/api/stats";
+                    };
+                    request = HttpRequest.newBuilder(URI.create(url + ruta)).build();
+                }
+
+                long t0 = System.nanoTime();
+                if (t0 >= fin) {
+                    return;
+                }
+                boolean ok;
+                try {
+                    ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long t1 = System.nanoTime();
+                if (t0 >= inicioMedicion && t1 <= fin) {
+                    (like ? likes : lecturas).anotar(t1 - t0, ok);
+                }
+            }
+        }
+    }
+
+    /**
+     * Latencias de un tipo de operación, en nanosegundos
+     */
+    private static final class Latencias {
+
+        private long[] valores = new long[1024];
+        private int cantidad;
+        private long errores;
+
+        void anotar(long nanos, boolean ok) {
+            if (!ok) {
+                errores++;
+                return;
+            }
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            valores[cantidad++] = nanos;
+        }
+
+        void agregar(Latencias otras) {
+            if (cantidad + otras.cantidad > valores.length) {
+                valores = Arrays.copyOf(valores, cantidad + otras.cantidad);
+            }
+            System.arraycopy(otras.valores, 0, valores, cantidad, otras.cantidad);
+            cantidad += otras.cantidad;
+            errores += otras.errores;
+        }
+
+        void informar(String nombre, int segundos) {
+            if (cantidad == 0) {
+                System.out.printf("%-9s sin operaciones (%d errores)%n", nombre, errores);
+                return;
+            }
+            long[] ordenados = Arrays.copyOf(valores, cantidad);
+            Arrays.sort(ordenados);
+            System.out.printf("%-9s %9.0f ops/s   p50 %7.2f ms   p99 %7.2f ms   p99.9 %7.2f ms   %d errores%n",
+                    nombre, (double) cantidad / segundos,
+                    ordenados[cantidad / 2] / 1e6,
+                    ordenados[(int) (cantidad * 0.99)] / 1e6,
+                    ordenados[(int) (cantidad * 0.999)] / 1e6,
+                    errores);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.playlist.benchmark;
+
+import com.playlist.model.Video;
+import com.playlist.repository.FileVideoRepository;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.JdbcVideoRepository;
+import com.playlist.repository.VideoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findAll, save y findTopByLikes de cada repositorio según el tamaño de la playlist
+ *
+ * save reemplaza videos existentes (en rotación), así la playlist no crece
+ * durante la medición; en file y jdbc incluye la persistencia. Con un millón
+ * de videos, findAll copia toda la playlist: la JVM de cada medición usa 3 GB
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryBenchmark {
+
+    private static final int LOTE = 10_000;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int tamano;
+
+    @Param({"memory", "file", "jdbc"})
+    private String tipo;
+
+    private VideoRepository repository;
+    private Video[] videos;
+    private Path directorio;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        BenchmarkData.silenciarLogs();
+        repository = crearRepositorio();
+        List<Video> datos = BenchmarkData.videos(tamano);
+        // En lotes: una sola transacción de un millón de filas agota la base H2 en memoria
+        for (int i = 0; i < datos.size(); i += LOTE) {
+            repository.saveAll(datos.subList(i, Math.min(i + LOTE, datos.size())));
+        }
+        videos = datos.toArray(new Video[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        repository.close();
+        if (directorio != null) {
+            FileSystemUtils.deleteRecursively(directorio);
+        }
+    }
+
+    @Benchmark
+    public List<Video> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Video save() {
+        Video video = videos[siguiente];
+        siguiente = (siguiente + 1) % videos.length;
+        return repository.save(video);
+    }
+
+    @Benchmark
+    public List<Video> findTopByLikes() {
+        return repository.findTopByLikes(10);
+    }
+
+    private VideoRepository crearRepositorio() throws IOException {
+        return switch (tipo) {
+            case "memory" -> new InMemoryVideoRepository();
+            case "file" -> {
+                directorio = Files.createTempDirectory("playlist-jmh");
+                yield new FileVideoRepository(directorio.resolve("videos.json"));
+            }
+            case "jdbc" -> new JdbcVideoRepository(new DriverManagerDataSource(
+                    "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+            default -> throw new IllegalArgumentException("Repositorio desconocido: " + tipo);
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.playlist.benchmark;
+
+import com.playlist.model.Video;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.VideoSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de búsqueda del {@link VideoSearchIndex} sobre una playlist sintética
+ *
+ * Las consultas se reparten en prefijos cortos (autocompletado), palabras
+ * completas y combinaciones de dos palabras, elegidas al azar con semilla fija.
+ * Con -bm sample JMH informa también los percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchBenchmark {
+
+    private static final String[] PALABRAS = {
+        "amor", "corazón", "canción", "noche", "día", "vida", "sol", "luna", "mar", "fuego",
+        "baila", "sueño", "ciudad", "camino", "tiempo", "cielo", "estrella", "lluvia", "viento", "río",
+        "guitarra", "ritmo", "fiesta", "verano", "invierno", "primavera", "otoño", "rojo", "azul", "negro",
+        "live", "official", "video", "remix", "acoustic", "session", "remastered", "version", "lyrics", "cover",
+        "tango", "salsa", "cumbia", "rock", "pop", "jazz", "blues", "reggae", "trap", "folk",
+        "buenos", "aires", "montevideo", "madrid", "méxico", "bogotá", "lima", "santiago", "habana", "caracas",
+        "querer", "volver", "llorar", "cantar", "bailar", "soñar", "olvidar", "esperar", "mirar", "sentir"
+    };
+
+    // Potencia de 2, para recorrer las consultas con una máscara
+    private static final int CONSULTAS = 4096;
+
+    @Param({"10000", "100000"})
+    private int tamano;
+
+    private VideoRepository repository;
+    private VideoSearchIndex index;
+    private String[] prefijos;
+    private String[] palabras;
+    private String[] dosPalabras;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        BenchmarkData.silenciarLogs();
+        Random random = new Random(42);
+        repository = new InMemoryVideoRepository();
+        List<Video> videos = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            int largo = 2 + random.nextInt(5);
+            StringBuilder nombre = new StringBuilder();
+            for (int j = 0; j < largo; j++) {
+                nombre.append(palabra(random)).append(' ');
+            }
+            nombre.append(i);
+            Video video = new Video(nombre.toString(), "https://www.youtube.com/watch?v=dQw4w9WgXcQ");
+            video.setLikes(random.nextInt(10_000));
+            videos.add(video);
+        }
+        repository.saveAll(videos);
+        index = new VideoSearchIndex(repository);
+
+        prefijos = new String[CONSULTAS];
+        palabras = new String[CONSULTAS];
+        dosPalabras = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String palabra = palabra(random);
+            prefijos[i] = palabra.substring(0, Math.min(palabra.length(), 2 + random.nextInt(3)));
+            palabras[i] = palabra;
+            dosPalabras[i] = palabra + " " + palabra(random);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        repository.close();
+    }
+
+    @Benchmark
+    public List<String> buscarPrefijo() {
+        return index.buscar(prefijos[proxima()], 20);
+    }
+
+    @Benchmark
+    public List<String> buscarPalabra() {
+        return index.buscar(palabras[proxima()], 20);
+    }
+
+    @Benchmark
+    public List<String> buscarDosPalabras() {
+        return index.buscar(dosPalabras[proxima()], 20);
+    }
+
+    private int proxima() {
+        return siguiente++ & (CONSULTAS - 1);
+    }
+
+    private static String palabra(Random random) {
+        return PALABRAS[random.nextInt(PALABRAS.length)];
+    }
+}
@@ -0,0 +1,96 @@
+package com.playlist.benchmark;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.Video;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.VideoEventBroadcaster;
+import com.playlist.service.VideoSearchIndex;
+import com.playlist.service.VideoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Likes y estadísticas de VideoService sobre una playlist residente de 10.000 videos
+ *
+ * Los likes van a videos al azar con 1, 8 y 64 hilos, e incluyen el índice de
+ * búsqueda, la versión y la publicación del evento (sin suscriptores)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmark {
+
+    private static final int VIDEOS = 10_000;
+
+    private VideoRepository repository;
+    private VideoEventBroadcaster eventos;
+    private VideoService servicio;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        BenchmarkData.silenciarLogs();
+        repository = new InMemoryVideoRepository();
+        List<Video> videos = BenchmarkData.videos(VIDEOS);
+        repository.saveAll(videos);
+        ids = videos.stream().map(Video::getId).toArray(String[]::new);
+
+        PlaylistProperties properties = new PlaylistProperties();
+        eventos = new VideoEventBroadcaster(Jackson2ObjectMapperBuilder.json().build(), properties);
+        servicio = new VideoService(repository, new VideoSearchIndex(repository), eventos, properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        eventos.cerrar();
+        repository.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Video> agregarLike1Hilo() {
+        return agregarLike();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Video> agregarLike8Hilos() {
+        return agregarLike();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Optional<Video> agregarLike64Hilos() {
+        return agregarLike();
+    }
+
+    @Benchmark
+    public VideoService.PlaylistStats obtenerEstadisticas() {
+        return servicio.obtenerEstadisticas();
+    }
+
+    private Optional<Video> agregarLike() {
+        return servicio.agregarLike(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+}
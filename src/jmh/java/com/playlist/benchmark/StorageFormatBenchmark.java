@@ -0,0 +1,74 @@
+package com.playlist.benchmark;
+
+import com.playlist.model.Video;
+import com.playlist.repository.StorageFormat;
+import com.playlist.repository.VideoCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guardar y cargar el snapshot completo en cada formato de almacenamiento, en memoria
+ * (sin disco). El tamaño de cada formato se informa al preparar los datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StorageFormatBenchmark {
+
+    @Param({"100000"})
+    private int tamano;
+
+    @Param({"JSON", "BINARY"})
+    private StorageFormat formato;
+
+    private VideoCodec codec;
+    private List<Video> videos;
+    private byte[] datos;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        BenchmarkData.silenciarLogs();
+        codec = formato.codec();
+        videos = BenchmarkData.videos(tamano);
+        // Precisión de milisegundos, la misma que conserva el formato binario
+        LocalDateTime fecha = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < videos.size(); i++) {
+            videos.get(i).setFechaAgregado(fecha.plusSeconds(i));
+        }
+        datos = guardar().toByteArray();
+        System.out.printf("%n%s: %d videos en %d bytes%n", formato, tamano, datos.length);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream guardar() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(datos != null ? datos.length : 1 << 20);
+        codec.escribir(videos, out);
+        return out;
+    }
+
+    @Benchmark
+    public List<Video> cargar() throws IOException {
+        return codec.leer(new ByteArrayInputStream(datos));
+    }
+}
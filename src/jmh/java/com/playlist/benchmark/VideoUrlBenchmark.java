@@ -0,0 +1,66 @@
+package com.playlist.benchmark;
+
+import com.playlist.model.Video;
+import com.playlist.model.YouTubeUrlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de links de YouTube: al crear un video, al leer su link embebido
+ * y en el parser, para las formas de URL más comunes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VideoUrlBenchmark {
+
+    @Param({
+        "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+        "https://www.youtube.com/watch?feature=share&v=dQw4w9WgXcQ&t=42",
+        "https://youtu.be/dQw4w9WgXcQ",
+        "https://www.youtube.com/embed/dQw4w9WgXcQ"
+    })
+    private String link;
+
+    private Video video;
+
+    @Setup
+    public void preparar() {
+        BenchmarkData.silenciarLogs();
+        video = new Video("Never Gonna Give You Up", link);
+    }
+
+    @Benchmark
+    public Video crearVideo() {
+        return new Video("Never Gonna Give You Up", link);
+    }
+
+    @Benchmark
+    public String getLink() {
+        return video.getLink();
+    }
+
+    @Benchmark
+    public String aUrlEmbebida() {
+        return YouTubeUrlParser.aUrlEmbebida(link);
+    }
+
+    @Benchmark
+    public boolean esValida() {
+        return YouTubeUrlParser.esValida(link);
+    }
+}
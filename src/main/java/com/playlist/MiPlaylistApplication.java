@@ -2,6 +2,10 @@ package com.playlist;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
 
 /**
  * Clase principal de la aplicación Mi Playlist
@@ -10,14 +14,29 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @author Entregable 4 - Prog Avanzada 2025
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class MiPlaylistApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(MiPlaylistApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(MiPlaylistApplication.class, args);
         System.out.println("\n" +
                 "=======================================================\n" +
                 "  Mi Playlist Musical - Aplicación iniciada\n" +
                 "  Accede a: http://localhost:8081\n" +
+                "  Hilos de las peticiones: " + modoDeHilos(context.getEnvironment()) + "\n" +
                 "=======================================================\n");
     }
+
+    /**
+     * Describe si las peticiones corren en hilos virtuales (spring.threads.virtual.enabled)
+     */
+    private static String modoDeHilos(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return "virtuales";
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return "de plataforma (los hilos virtuales requieren Java 21)";
+        }
+        return "de plataforma";
+    }
 }
@@ -0,0 +1,316 @@
+package com.playlist.config;
+
+import com.playlist.model.IdStrategy;
+import com.playlist.repository.DurabilityPolicy;
+import com.playlist.repository.PersistenceMode;
+import com.playlist.repository.RepositoryType;
+import com.playlist.repository.StorageFormat;
+import com.playlist.service.DuplicatePolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la aplicación (prefijo "playlist")
+ * Se definen en application.properties
+ */
+@ConfigurationProperties(prefix = "playlist")
+public class PlaylistProperties {
+
+    private final Repository repository = new Repository();
+    private final Persistence persistence = new Persistence();
+    private final Batch batch = new Batch();
+    private final Duplicates duplicates = new Duplicates();
+    private final Ids ids = new Ids();
+    private final Events events = new Events();
+    private final Reactive reactive = new Reactive();
+
+    public Repository getRepository() {
+        return repository;
+    }
+
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Duplicates getDuplicates() {
+        return duplicates;
+    }
+
+    public Ids getIds() {
+        return ids;
+    }
+
+    public Events getEvents() {
+        return events;
+    }
+
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    /**
+     * Implementación del repositorio de videos
+     */
+    public static class Repository {
+
+        // FILE (archivo, ver persistence), JDBC (H2 embebida) o MEMORY (sin persistencia)
+        private RepositoryType type = RepositoryType.FILE;
+
+        public RepositoryType getType() {
+            return type;
+        }
+
+        public void setType(RepositoryType type) {
+            this.type = type;
+        }
+    }
+
+    /**
+     * Configuración de la persistencia de videos (repositorio FILE)
+     */
+    public static class Persistence {
+
+        // Archivo con el snapshot de la playlist, relativo al directorio de trabajo
+        private String dataFile = "data/videos.json";
+
+        // Formato del snapshot: JSON (legible) o BINARY (compacto)
+        private StorageFormat format = StorageFormat.JSON;
+
+        // Modo de persistencia: SNAPSHOT (reescribe todo) o JOURNAL (log de mutaciones)
+        private PersistenceMode mode = PersistenceMode.JOURNAL;
+
+        // Cantidad de registros en el log antes de compactarlo en un nuevo snapshot
+        private int compactEvery = 1000;
+
+        // Cuándo se fuerzan las escrituras a disco: SYNC, GROUP_COMMIT o ASYNC
+        private DurabilityPolicy durability = DurabilityPolicy.GROUP_COMMIT;
+
+        // Intervalo de agrupación de escrituras para GROUP_COMMIT / ASYNC
+        private long groupCommitIntervalMs = 100;
+
+        public String getDataFile() {
+            return dataFile;
+        }
+
+        public void setDataFile(String dataFile) {
+            this.dataFile = dataFile;
+        }
+
+        public StorageFormat getFormat() {
+            return format;
+        }
+
+        public void setFormat(StorageFormat format) {
+            this.format = format;
+        }
+
+        public PersistenceMode getMode() {
+            return mode;
+        }
+
+        public void setMode(PersistenceMode mode) {
+            this.mode = mode;
+        }
+
+        public int getCompactEvery() {
+            return compactEvery;
+        }
+
+        public void setCompactEvery(int compactEvery) {
+            this.compactEvery = compactEvery;
+        }
+
+        public DurabilityPolicy getDurability() {
+            return durability;
+        }
+
+        public void setDurability(DurabilityPolicy durability) {
+            this.durability = durability;
+        }
+
+        public long getGroupCommitIntervalMs() {
+            return groupCommitIntervalMs;
+        }
+
+        public void setGroupCommitIntervalMs(long groupCommitIntervalMs) {
+            this.groupCommitIntervalMs = groupCommitIntervalMs;
+        }
+    }
+
+    /**
+     * Configuración del agrupador de escrituras de likes y favoritos
+     */
+    public static class Batch {
+
+        // Ventana máxima que un cambio puede esperar antes de persistirse
+        private long windowMs = 200;
+
+        // Cantidad de videos con cambios que dispara el flush sin esperar la ventana
+        private int maxSize = 500;
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Detección de videos duplicados (mismo id de YouTube)
+     */
+    public static class Duplicates {
+
+        // Altas de a una: ALLOW (se guarda igual, como siempre), REJECT (error) o MERGE (se devuelve
+        // el existente). La importación en lote descarta duplicados siempre; esto solo decide si los
+        // informa como error (REJECT)
+        private DuplicatePolicy policy = DuplicatePolicy.ALLOW;
+
+        public DuplicatePolicy getPolicy() {
+            return policy;
+        }
+
+        public void setPolicy(DuplicatePolicy policy) {
+            this.policy = policy;
+        }
+    }
+
+    /**
+     * Generación de ids de los videos nuevos
+     */
+    public static class Ids {
+
+        // UUID_V7 (ordenados por tiempo) o RANDOM (UUIDv4)
+        private IdStrategy generator = IdStrategy.UUID_V7;
+
+        public IdStrategy getGenerator() {
+            return generator;
+        }
+
+        public void setGenerator(IdStrategy generator) {
+            this.generator = generator;
+        }
+    }
+
+    /**
+     * Difusión de cambios a los clientes por Server-Sent Events (/api/events)
+     */
+    public static class Events {
+
+        // Lotes de eventos pendientes por cliente; si se llena mientras se le escribe, el cliente se expulsa
+        private int bufferSize = 32;
+
+        // Hilos que escriben los eventos en las conexiones
+        private int senderThreads = 2;
+
+        // Plazo de una escritura: el cliente que no la acepta en ese tiempo se expulsa
+        // y su hilo se reemplaza en el pool
+        private long writeTimeoutMs = 5000;
+
+        // Intervalo sin eventos tras el cual se envía un latido para mantener la conexión
+        private long heartbeatMs = 20000;
+
+        // Duración máxima de una conexión; el navegador se reconecta solo
+        private long timeoutMs = 1800000;
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public long getWriteTimeoutMs() {
+            return writeTimeoutMs;
+        }
+
+        public void setWriteTimeoutMs(long writeTimeoutMs) {
+            this.writeTimeoutMs = writeTimeoutMs;
+        }
+
+        public long getHeartbeatMs() {
+            return heartbeatMs;
+        }
+
+        public void setHeartbeatMs(long heartbeatMs) {
+            this.heartbeatMs = heartbeatMs;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    /**
+     * API reactiva (/rx/api) en un servidor Reactor Netty aparte
+     */
+    public static class Reactive {
+
+        private boolean enabled = false;
+
+        private int port = 8082;
+
+        // Hilos del event loop que atienden todas las conexiones
+        private int eventLoopThreads = 2;
+
+        // Máximo de hilos para lo que bloquea: escrituras y lecturas del repositorio JDBC
+        private int blockingThreads = 8;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getEventLoopThreads() {
+            return eventLoopThreads;
+        }
+
+        public void setEventLoopThreads(int eventLoopThreads) {
+            this.eventLoopThreads = eventLoopThreads;
+        }
+
+        public int getBlockingThreads() {
+            return blockingThreads;
+        }
+
+        public void setBlockingThreads(int blockingThreads) {
+            this.blockingThreads = blockingThreads;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.playlist.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playlist.config.PlaylistProperties;
+import com.playlist.repository.ReactiveVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.VideoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Servidor Reactor Netty de la API reactiva (/rx/api), en paralelo al de Spring MVC
+ *
+ * Escucha en su propio puerto (playlist.reactive.port) y atiende todas sus
+ * conexiones con playlist.reactive.event-loop-threads hilos. Usa el mismo
+ * VideoService y el mismo repositorio que la aplicación, así los cambios hechos
+ * por una API se ven en la otra (y en los eventos de /api/events)
+ */
+@Component
+@ConditionalOnProperty(name = "playlist.reactive.enabled", havingValue = "true")
+public class ReactiveServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveServer.class);
+
+    private final PlaylistProperties.Reactive config;
+    private final ReactiveVideoRepository videos;
+    private final HttpHandler handler;
+
+    private LoopResources loops;
+    private volatile DisposableServer servidor;
+
+    @Autowired
+    public ReactiveServer(VideoService videoService, VideoRepository videoRepository,
+                          ObjectMapper objectMapper, PlaylistProperties properties) {
+        this.config = properties.getReactive();
+        this.videos = new ReactiveVideoRepository(videoRepository, config.getBlockingThreads());
+
+        // Mismo ObjectMapper que la API de Spring MVC: el JSON es idéntico en las dos
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        this.handler = RouterFunctions.toHttpHandler(
+                new ReactiveVideoController(videoService, videos).rutas(), estrategias);
+    }
+
+    @Override
+    public void start() {
+        loops = LoopResources.create("rx-event-loop", 1, config.getEventLoopThreads(), true);
+        servidor = HttpServer.create()
+                .port(config.getPort())
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+        log.info("API reactiva escuchando en el puerto {} ({} hilos de event loop)",
+                servidor.port(), config.getEventLoopThreads());
+    }
+
+    @Override
+    public void stop() {
+        servidor.disposeNow();
+        servidor = null;
+        loops.disposeLater().block();
+        videos.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.playlist.controller;
+
+import com.playlist.model.Video;
+import com.playlist.repository.ReactiveVideoRepository;
+import com.playlist.repository.VideoSort;
+import com.playlist.service.PlaylistVersion;
+import com.playlist.service.VideoService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * API REST reactiva (WebFlux funcional) bajo /rx/api, servida por {@link ReactiveServer}
+ *
+ * Los listados y el top se emiten como Flux<Video> (arreglo JSON, o NDJSON con
+ * Accept: application/x-ndjson) a medida que la conexión los acepta. Las lecturas
+ * responden 304 con la versión de la playlist, como la API de {@link VideoController},
+ * para servir sondeos frecuentes sin tocar el repositorio. Las escrituras pasan
+ * por VideoService fuera del event loop.
+ */
+public class ReactiveVideoController {
+
+    private static final int LIMITE_POR_DEFECTO = 20;
+
+    // Mismos límites que VideoService
+    private static final int MAX_PAGINA = 100;
+    private static final int MAX_TOP = 100;
+
+    private final VideoService videoService;
+    private final ReactiveVideoRepository videos;
+
+    public ReactiveVideoController(VideoService videoService, ReactiveVideoRepository videos) {
+        this.videoService = videoService;
+        this.videos = videos;
+    }
+
+    /**
+     * Rutas de la API; los IllegalArgumentException se responden con 400
+     */
+    public RouterFunction<ServerResponse> rutas() {
+        return RouterFunctions.route()
+                .path("/rx/api", api -> api
+                        .GET("/videos", manejar(this::listar))
+                        .GET("/videos/top/{cantidad}", manejar(this::top))
+                        .GET("/videos/{id}", manejar(this::obtener))
+                        .POST("/videos", manejar(this::agregar))
+                        .DELETE("/videos/{id}", manejar(this::eliminar))
+                        .POST("/videos/{id}/like", manejar(this::agregarLike))
+                        .POST("/videos/{id}/favorito", manejar(this::toggleFavorito))
+                        .GET("/stats", manejar(this::estadisticas)))
+                .build();
+    }
+
+    /**
+     * Sin parámetros emite toda la playlist por fecha de agregado.
+     * Con "after", "limit" o "sort" emite una página y el cursor de la siguiente
+     * en el encabezado X-Siguiente
+     */
+    private Mono<ServerResponse> listar(ServerRequest request) {
+        Optional<String> after = request.queryParam("after");
+        Optional<String> limit = request.queryParam("limit");
+        Optional<String> sort = request.queryParam("sort");
+
+        if (after.isEmpty() && limit.isEmpty() && sort.isEmpty()) {
+            return condicional(request, respuesta -> respuesta.contentType(tipoListado(request))
+                .body(videos.streamAll(), Video.class));
+        }
+
+        VideoSort orden = VideoSort.desde(sort.orElse(null));
+        int limite = limitar(limit.map(Integer::parseInt).orElse(LIMITE_POR_DEFECTO), MAX_PAGINA);
+        return condicional(request, respuesta -> videos.findPage(orden, after.orElse(null), limite)
+                .flatMap(pagina -> {
+                    if (pagina.getSiguiente() != null) {
+                        respuesta.header("X-Siguiente", pagina.getSiguiente());
+                    }
+                    return respuesta.contentType(tipoListado(request))
+                            .body(Flux.fromIterable(pagina.getVideos()), Video.class);
+                }));
+    }
+
+    private Mono<ServerResponse> top(ServerRequest request) {
+        int cantidad = limitar(Integer.parseInt(request.pathVariable("cantidad")), MAX_TOP);
+        return condicional(request, respuesta -> respuesta.contentType(tipoListado(request))
+                .body(videos.findTopByLikes(cantidad), Video.class));
+    }
+
+    private Mono<ServerResponse> obtener(ServerRequest request) {
+        return condicional(request, respuesta -> videos.findById(request.pathVariable("id"))
+                .flatMap(respuesta::bodyValue)
+                .switchIfEmpty(ServerResponse.notFound().build()));
+    }
+
+    private Mono<ServerResponse> estadisticas(ServerRequest request) {
+        return condicional(request, respuesta -> respuesta.bodyValue(videoService.obtenerEstadisticas()));
+    }
+
+    private Mono<ServerResponse> agregar(ServerRequest request) {
+        return request.formData()
+                .flatMap(form -> videos.escribir(
+                        () -> videoService.agregarVideo(form.getFirst("nombre"), form.getFirst("link"))))
+                .flatMap(video -> {
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("success", true);
+                    response.put("message", "Video agregado exitosamente");
+                    response.put("video", video);
+                    return ServerResponse.status(HttpStatus.CREATED).bodyValue(response);
+                });
+    }
+
+    private Mono<ServerResponse> eliminar(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return videos.escribir(() -> videoService.eliminarVideo(id))
+                .flatMap(eliminado -> eliminado
+                        ? ServerResponse.ok().bodyValue(Map.of("success", true, "message", "Video eliminado exitosamente"))
+                        : ServerResponse.notFound().build());
+    }
+
+    private Mono<ServerResponse> agregarLike(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return videos.escribir(() -> videoService.agregarLike(id).orElse(null))
+                .flatMap(video -> ServerResponse.ok().bodyValue(Map.of("success", true, "likes", video.getLikes())))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Mono<ServerResponse> toggleFavorito(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return videos.escribir(() -> videoService.toggleFavorito(id).orElse(null))
+                .flatMap(video -> ServerResponse.ok().bodyValue(Map.of("success", true, "favorito", video.isFavorito())))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Respuesta condicional con la versión de la playlist (ETag):
+     * si el cliente ya tiene esta versión se responde 304 sin armar la respuesta
+     */
+    private Mono<ServerResponse> condicional(ServerRequest request,
+                                             Function<ServerResponse.BodyBuilder, Mono<ServerResponse>> respuesta) {
+        PlaylistVersion version = videoService.obtenerVersion();
+        return request.checkNotModified(version.getEtag())
+                .switchIfEmpty(Mono.defer(() -> respuesta.apply(ServerResponse.ok().eTag(version.getEtag()))));
+    }
+
+    /**
+     * Evalúa el handler dentro del Mono, así también sus excepciones de validación
+     * (parámetros mal formados) se responden con 400
+     */
+    private static HandlerFunction<ServerResponse> manejar(HandlerFunction<ServerResponse> handler) {
+        return request -> Mono.defer(() -> handler.handle(request))
+                .onErrorResume(IllegalArgumentException.class, ReactiveVideoController::error);
+    }
+
+    private static Mono<ServerResponse> error(Throwable e) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ServerResponse.badRequest().bodyValue(response);
+    }
+
+    /**
+     * Las rutas funcionales no negocian el tipo por Accept: los listados van como
+     * NDJSON (un video por línea) si el cliente lo pide, si no como arreglo JSON
+     */
+    private static MediaType tipoListado(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
+
+    private static int limitar(int valor, int maximo) {
+        return Math.max(1, Math.min(valor, maximo));
+    }
+}
@@ -1,20 +1,43 @@
 package com.playlist.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.playlist.model.Video;
+import com.playlist.repository.VideoPage;
+import com.playlist.repository.VideoSort;
+import com.playlist.repository.WriteBatcherMetrics;
+import com.playlist.service.DedupResult;
+import com.playlist.service.ImportFormat;
+import com.playlist.service.ImportResult;
+import com.playlist.service.PlaylistVersion;
+import com.playlist.service.VideoEventBroadcaster;
 import com.playlist.service.VideoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Controlador principal para manejar las peticiones relacionadas con videos
@@ -25,23 +48,45 @@ public class VideoController {
 
     private static final Logger log = LoggerFactory.getLogger(VideoController.class);
 
+    // Videos por página en la vista principal y en la API cuando no se indica "limit"
+    private static final int VIDEOS_POR_PAGINA = 24;
+    private static final int LIMITE_POR_DEFECTO = 20;
+
+    // Cada cuántos videos se vacía el buffer de la exportación hacia el cliente
+    private static final int EXPORTAR_FLUSH_CADA = 256;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final VideoService videoService;
+    private final VideoEventBroadcaster eventos;
+    private final ObjectWriter videoWriter;
 
     @Autowired
-    public VideoController(VideoService videoService) {
+    public VideoController(VideoService videoService, VideoEventBroadcaster eventos, ObjectMapper objectMapper) {
         this.videoService = videoService;
+        this.eventos = eventos;
+        this.videoWriter = objectMapper.writerFor(Video.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Página principal - muestra todos los videos
+     * Página principal - muestra los videos de a una página por vez
      */
     @GetMapping("/")
-    public String index(Model model) {
+    public String index(@RequestParam(required = false) String after, Model model) {
         log.info("Accediendo a la página principal");
-        List<Video> videos = videoService.obtenerTodosLosVideos();
+        // Antes que los datos: los eventos posteriores le llegan a la página por /api/events
+        model.addAttribute("secuenciaEventos", eventos.getSecuencia());
+        VideoPage pagina;
+        try {
+            pagina = videoService.obtenerPagina(VideoSort.FECHA, after, VIDEOS_POR_PAGINA);
+        } catch (IllegalArgumentException e) {
+            // El video del cursor ya no existe: se vuelve al inicio
+            return "redirect:/";
+        }
         VideoService.PlaylistStats stats = videoService.obtenerEstadisticas();
 
-        model.addAttribute("videos", videos);
+        model.addAttribute("videos", pagina.getVideos());
+        model.addAttribute("siguiente", pagina.getSiguiente());
         model.addAttribute("stats", stats);
         model.addAttribute("titulo", "My Music Now");
 
@@ -52,11 +97,18 @@ public class VideoController {
      * Página de favoritos
      */
     @GetMapping("/favoritos")
-    public String favoritos(Model model) {
+    public String favoritos(@RequestParam(required = false) String after, Model model) {
         log.info("Accediendo a la página de favoritos");
-        List<Video> favoritos = videoService.obtenerFavoritos();
+        model.addAttribute("secuenciaEventos", eventos.getSecuencia());
+        VideoPage pagina;
+        try {
+            pagina = videoService.obtenerPaginaFavoritos(after, VIDEOS_POR_PAGINA);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/favoritos";
+        }
 
-        model.addAttribute("videos", favoritos);
+        model.addAttribute("videos", pagina.getVideos());
+        model.addAttribute("siguiente", pagina.getSiguiente());
         model.addAttribute("titulo", "Videos Favoritos");
         model.addAttribute("esFavoritos", true);
 
@@ -64,13 +116,152 @@ public class VideoController {
     }
 
     /**
-     * API REST: Obtener todos los videos
+     * API REST: Obtener videos
+     * Sin parámetros devuelve todos. Con "after", "limit" o "sort" pagina por cursor:
+     * ?after=<id>&limit=20&sort=fecha|likes|id. Con "fields" devuelve solo esos campos
      */
     @GetMapping("/api/videos")
     @ResponseBody
-    public ResponseEntity<List<Video>> obtenerVideos() {
-        List<Video> videos = videoService.obtenerTodosLosVideos();
-        return ResponseEntity.ok(videos);
+    public ResponseEntity<?> obtenerVideos(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        if (sinCambios(request)) {
+            return null;
+        }
+
+        try {
+            List<String> campos = VideoFields.parsear(fields);
+
+            if (after == null && limit == null && sort == null) {
+                List<Video> videos = videoService.obtenerTodosLosVideos();
+                return ResponseEntity.ok(VideoFields.proyectar(videos, campos));
+            }
+
+            VideoPage pagina = videoService.obtenerPagina(VideoSort.desde(sort), after,
+                    limit != null ? limit : LIMITE_POR_DEFECTO);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("videos", VideoFields.proyectar(pagina.getVideos(), campos));
+            response.put("siguiente", pagina.getSiguiente());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Error al obtener videos: {}", e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * API REST: Buscar videos por nombre (?q=texto&limit=20)
+     * Coincide por prefijo de palabra, sin distinguir tildes ni mayúsculas
+     */
+    @GetMapping("/api/videos/search")
+    @ResponseBody
+    public List<Video> buscarVideos(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit) {
+
+        return videoService.buscarVideos(q, limit != null ? limit : LIMITE_POR_DEFECTO);
+    }
+
+    /**
+     * API REST: Favoritos por fecha de agregado, paginados por cursor
+     * ?after=<id>&limit=20
+     */
+    @GetMapping("/api/favoritos")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> obtenerFavoritos(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+
+        if (sinCambios(request)) {
+            return null;
+        }
+
+        try {
+            VideoPage pagina = videoService.obtenerPaginaFavoritos(after,
+                    limit != null ? limit : LIMITE_POR_DEFECTO);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("videos", pagina.getVideos());
+            response.put("siguiente", pagina.getSiguiente());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.error("Error al obtener favoritos: {}", e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * API REST: Exportar toda la playlist en streaming (?format=ndjson|json)
+     * Los videos se escriben en la respuesta a medida que se recorren, sin
+     * armar la lista en memoria. Si el cliente lee lento, la escritura se
+     * bloquea y el recorrido se detiene con ella (backpressure natural)
+     */
+    @GetMapping("/api/videos/export")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> exportarVideos(
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        boolean ndjson;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            ndjson = true;
+        } else if ("json".equalsIgnoreCase(format)) {
+            ndjson = false;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try (Stream<Video> videos = videoService.exportarVideos();
+                 JsonGenerator generator = videoWriter.getFactory().createGenerator(out)) {
+                escribirExportacion(videos, generator, ndjson);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=playlist." + (ndjson ? "ndjson" : "json"))
+                .body(body);
+    }
+
+    /**
+     * Escribe los videos de a uno: un objeto por línea (NDJSON) o un arreglo JSON
+     */
+    private void escribirExportacion(Stream<Video> videos, JsonGenerator generator, boolean ndjson)
+            throws IOException {
+        generator.setRootValueSeparator(null);
+        if (!ndjson) {
+            generator.writeStartArray();
+        }
+
+        int escritos = 0;
+        for (Video video : (Iterable<Video>) videos::iterator) {
+            videoWriter.writeValue(generator, video);
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+            if (++escritos % EXPORTAR_FLUSH_CADA == 0) {
+                generator.flush();
+            }
+        }
+
+        if (!ndjson) {
+            generator.writeEndArray();
+        }
+        log.info("Exportación finalizada: {} videos", escritos);
     }
 
     /**
@@ -78,7 +269,10 @@ public class VideoController {
      */
     @GetMapping("/api/videos/{id}")
     @ResponseBody
-    public ResponseEntity<Video> obtenerVideo(@PathVariable String id) {
+    public ResponseEntity<Video> obtenerVideo(@PathVariable String id, WebRequest request) {
+        if (sinCambios(request)) {
+            return null;
+        }
         Optional<Video> video = videoService.obtenerVideoPorId(id);
         return video.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -110,6 +304,49 @@ public class VideoController {
         }
     }
 
+    /**
+     * API REST: Importar videos en lote
+     * Cuerpo NDJSON (application/x-ndjson) o CSV (text/csv) con nombre y link por fila
+     */
+    @PostMapping(value = "/api/videos/import", consumes = {"application/x-ndjson", "text/csv"})
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> importarVideos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+
+        ImportFormat formato = MediaType.parseMediaType(contentType).isCompatibleWith(NDJSON)
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        ImportResult resultado = videoService.importarVideos(
+                new InputStreamReader(body, StandardCharsets.UTF_8), formato);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Importación finalizada");
+        response.put("totalFilas", resultado.getTotalFilas());
+        response.put("importados", resultado.getImportados());
+        response.put("duplicados", resultado.getDuplicados());
+        response.put("errores", resultado.getErrores());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * API REST: Eliminar los videos duplicados (mismo id de YouTube) en una sola pasada
+     * Se conserva el más antiguo de cada uno, con los likes de todos sumados
+     */
+    @PostMapping("/api/videos/deduplicate")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> deduplicarVideos() {
+        DedupResult resultado = videoService.deduplicarVideos();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("message", "Deduplicación finalizada");
+        response.put("revisados", resultado.getRevisados());
+        response.put("eliminados", resultado.getEliminados());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * API REST: Eliminar un video
      */
@@ -178,20 +415,71 @@ public class VideoController {
      */
     @GetMapping("/api/stats")
     @ResponseBody
-    public ResponseEntity<VideoService.PlaylistStats> obtenerEstadisticas() {
+    public ResponseEntity<VideoService.PlaylistStats> obtenerEstadisticas(WebRequest request) {
+        if (sinCambios(request)) {
+            return null;
+        }
         return ResponseEntity.ok(videoService.obtenerEstadisticas());
     }
 
+    /**
+     * API REST: Obtener métricas de las escrituras agrupadas
+     */
+    @GetMapping("/api/metrics/escrituras")
+    @ResponseBody
+    public ResponseEntity<WriteBatcherMetrics> obtenerMetricasEscritura() {
+        return ResponseEntity.ok(videoService.obtenerMetricasEscritura());
+    }
+
     /**
      * API REST: Obtener top videos por likes
      */
     @GetMapping("/api/videos/top/{cantidad}")
     @ResponseBody
-    public ResponseEntity<List<Video>> obtenerTopVideos(@PathVariable int cantidad) {
+    public ResponseEntity<List<Video>> obtenerTopVideos(@PathVariable int cantidad, WebRequest request) {
+        if (sinCambios(request)) {
+            return null;
+        }
         List<Video> topVideos = videoService.obtenerTopVideos(cantidad);
         return ResponseEntity.ok(topVideos);
     }
 
+    /**
+     * Cambios en vivo por Server-Sent Events: agregado, eliminado, likes, favorito y recargar
+     * El cliente indica desde qué evento sigue con Last-Event-ID (al reconectarse)
+     * o con "desde" (la secuencia con la que se armó la página)
+     */
+    @GetMapping(value = "/api/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter suscribirEventos(
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento,
+            @RequestParam(required = false) String desde) {
+
+        return eventos.suscribir(parsearSecuencia(ultimoEvento != null ? ultimoEvento : desde));
+    }
+
+    /**
+     * Secuencia de eventos enviada por el cliente, o -1 si no hay o no es un número
+     */
+    private static long parsearSecuencia(String valor) {
+        try {
+            return valor != null ? Long.parseLong(valor.trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Respuesta condicional con la versión de la playlist: agrega el ETag y, si el
+     * cliente ya tiene esta versión (If-None-Match), deja preparado un 304 sin
+     * consultar el repositorio ni serializar nada.
+     * El método que la invoca debe devolver null en ese caso
+     */
+    private boolean sinCambios(WebRequest request) {
+        PlaylistVersion version = videoService.obtenerVersion();
+        return request.checkNotModified(version.getEtag());
+    }
+
     /**
      * Manejador de errores genérico
      */
@@ -0,0 +1,73 @@
+package com.playlist.controller;
+
+import com.playlist.model.Video;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Proyección de campos de Video para la API (?fields=id,nombre,likes)
+ */
+final class VideoFields {
+
+    private static final Map<String, Function<Video, Object>> CAMPOS = new LinkedHashMap<>();
+
+    static {
+        CAMPOS.put("id", Video::getId);
+        CAMPOS.put("nombre", Video::getNombre);
+        CAMPOS.put("link", Video::getLink);
+        CAMPOS.put("likes", Video::getLikes);
+        CAMPOS.put("favorito", Video::isFavorito);
+        CAMPOS.put("fechaAgregado", Video::getFechaAgregado);
+        CAMPOS.put("videoIdParaEmbed", Video::getVideoIdParaEmbed);
+    }
+
+    private VideoFields() {
+    }
+
+    /**
+     * Interpreta el parámetro "fields"; null si no se pidió proyección
+     *
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    static List<String> parsear(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        for (String campo : fields.split(",")) {
+            String nombre = campo.trim();
+            if (!CAMPOS.containsKey(nombre)) {
+                throw new IllegalArgumentException("Campo desconocido: " + nombre
+                        + ". Campos disponibles: " + String.join(",", CAMPOS.keySet()));
+            }
+            campos.add(nombre);
+        }
+        return campos;
+    }
+
+    /**
+     * Devuelve los videos tal cual si no hay proyección, o solo los campos pedidos
+     */
+    static Object proyectar(List<Video> videos, List<String> campos) {
+        if (campos == null) {
+            return videos;
+        }
+        return videos.stream()
+                .map(video -> proyectar(video, campos))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> proyectar(Video video, List<String> campos) {
+        Map<String, Object> proyectado = new LinkedHashMap<>();
+        for (String campo : campos) {
+            proyectado.put(campo, CAMPOS.get(campo).apply(video));
+        }
+        return proyectado;
+    }
+}
@@ -0,0 +1,23 @@
+package com.playlist.model;
+
+import java.util.UUID;
+
+/**
+ * Generador de ids para los videos nuevos
+ * Se elige con playlist.ids.generator (ver {@link IdStrategy})
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * UUIDv7 ordenados por tiempo y monótonos en el nodo (generador por defecto)
+     */
+    IdGenerator UUID_V7 = new UuidV7Generator();
+
+    /**
+     * UUIDv4 aleatorios (SecureRandom), el generador original
+     */
+    IdGenerator ALEATORIO = UUID::randomUUID;
+
+    UUID generar();
+}
@@ -0,0 +1,30 @@
+package com.playlist.model;
+
+/**
+ * Estrategias de generación de ids para los videos nuevos (playlist.ids.generator)
+ * Los videos existentes conservan su id, sea cual sea la estrategia
+ */
+public enum IdStrategy {
+
+    /**
+     * UUIDv7: ordenados por tiempo, así el orden por id coincide con el de inserción
+     */
+    UUID_V7 {
+        @Override
+        public IdGenerator generador() {
+            return IdGenerator.UUID_V7;
+        }
+    },
+
+    /**
+     * UUIDv4 aleatorios, sin relación con el orden de inserción
+     */
+    RANDOM {
+        @Override
+        public IdGenerator generador() {
+            return IdGenerator.ALEATORIO;
+        }
+    };
+
+    public abstract IdGenerator generador();
+}
@@ -0,0 +1,46 @@
+package com.playlist.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera UUIDv7 (RFC 9562): 48 bits de milisegundos desde epoch, 12 bits de
+ * secuencia y 62 bits aleatorios. Ordenados como texto, siguen el orden de creación.
+ *
+ * Monótono en todo el nodo: el par (milisegundo, secuencia) avanza con una sola
+ * CAS sobre un AtomicLong, sin locks. Si en un mismo milisegundo se agotan las
+ * 4096 secuencias, el reloj del generador se adelanta un milisegundo. Los bits
+ * aleatorios salen de ThreadLocalRandom: no hay contención por SecureRandom.
+ */
+final class UuidV7Generator implements IdGenerator {
+
+    private static final int BITS_SECUENCIA = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANTE = 0x8000_0000_0000_0000L;
+    private static final long MASCARA_ALEATORIA = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Último (milisegundo << 12 | secuencia) entregado
+    private final AtomicLong ultimo = new AtomicLong();
+
+    @Override
+    public UUID generar() {
+        long marca = siguienteMarca();
+        long alto = ((marca >>> BITS_SECUENCIA) << 16)
+                | VERSION_7
+                | (marca & ((1 << BITS_SECUENCIA) - 1));
+        long bajo = (ThreadLocalRandom.current().nextLong() & MASCARA_ALEATORIA) | VARIANTE;
+        return new UUID(alto, bajo);
+    }
+
+    private long siguienteMarca() {
+        long ahora = System.currentTimeMillis() << BITS_SECUENCIA;
+        while (true) {
+            long anterior = ultimo.get();
+            long marca = ahora > anterior ? ahora : anterior + 1;
+            if (ultimo.compareAndSet(anterior, marca)) {
+                return marca;
+            }
+        }
+    }
+}
@@ -1,19 +1,49 @@
 package com.playlist.model;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Modelo de datos para representar un video musical en la playlist
+ *
+ * Representación compacta en memoria (la API pública sigue siendo de String y LocalDateTime):
+ * <ul>
+ *   <li>el id se guarda como {@link VideoId} (dos long si es un UUID canónico), que
+ *       también es la clave de los índices del repositorio; su texto se arma recién
+ *       la primera vez que se pide a este objeto</li>
+ *   <li>un link embebido canónico se guarda solo como el id de YouTube (11 caracteres)
+ *       y la URL se arma al pedirla; cualquier otro link se guarda tal cual</li>
+ *   <li>la fecha se guarda como nanosegundos desde epoch (años 1677 a 2262)</li>
+ * </ul>
  */
+@JsonPropertyOrder({"id", "nombre", "link", "likes", "favorito", "fechaAgregado", "videoIdParaEmbed"})
 public class Video {
 
-    private String id;
+    // Incremento atómico (CAS) de likes sin objetos extra por video
+    private static final AtomicIntegerFieldUpdater<Video> LIKES =
+            AtomicIntegerFieldUpdater.newUpdater(Video.class, "likes");
+
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    private VideoId id;
+
+    // Texto del id, armado la primera vez que se pide
+    private String idTexto;
+
     private String nombre;
+
+    // Solo uno de los dos: youtubeId si el link es la URL embebida canónica, link en otro caso
+    private String youtubeId;
     private String link;
-    private int likes;
+
+    private volatile int likes;
     private boolean favorito;
-    private LocalDateTime fechaAgregado;
+    private long fechaNanos = SIN_FECHA;
 
     /**
      * Constructor vacío
@@ -25,31 +55,60 @@ public class Video {
      * Constructor con todos los parámetros
      */
     public Video(String id, String nombre, String link, int likes, boolean favorito, LocalDateTime fechaAgregado) {
-        this.id = id;
+        setId(id);
         this.nombre = nombre;
-        this.link = link;
+        setLink(link);
         this.likes = likes;
         this.favorito = favorito;
-        this.fechaAgregado = fechaAgregado;
+        setFechaAgregado(fechaAgregado);
     }
 
     /**
-     * Constructor para crear un nuevo video
+     * Constructor para crear un nuevo video con un id UUIDv7
+     * El link de YouTube se normaliza a su forma embebida
      */
     public Video(String nombre, String link) {
-        this.id = UUID.randomUUID().toString();
+        this(nombre, link, IdGenerator.UUID_V7);
+    }
+
+    /**
+     * Constructor para crear un nuevo video con el id que entrega el generador
+     */
+    public Video(String nombre, String link, IdGenerator ids) {
+        this.id = VideoId.de(ids.generar());
         this.nombre = nombre;
-        this.link = convertirAUrlEmbebida(link);
+        int inicio = link != null ? YouTubeUrlParser.inicioId(link) : -1;
+        if (inicio >= 0) {
+            this.youtubeId = link.substring(inicio, inicio + YouTubeUrlParser.LARGO_ID);
+        } else {
+            this.link = link;
+        }
         this.likes = 0;
         this.favorito = false;
-        this.fechaAgregado = LocalDateTime.now();
+        setFechaAgregado(LocalDateTime.now());
     }
 
     /**
-     * Incrementa los likes del video
+     * Constructor de copia: comparte la representación compacta sin volver a convertirla
      */
-    public void agregarLike() {
-        this.likes++;
+    public Video(Video otro) {
+        this.id = otro.id;
+        this.idTexto = otro.idTexto;
+        this.nombre = otro.nombre;
+        this.youtubeId = otro.youtubeId;
+        this.link = otro.link;
+        this.likes = otro.likes;
+        this.favorito = otro.favorito;
+        this.fechaNanos = otro.fechaNanos;
+    }
+
+    /**
+     * Incrementa los likes del video de forma atómica
+     *
+     * @return la cantidad de likes resultante de este incremento
+     */
+    public int agregarLike() {
+        return LIKES.incrementAndGet(this);
     }
 
     /**
@@ -60,74 +119,50 @@ public class Video {
     }
 
     /**
-     * Convierte una URL de YouTube normal a formato embebido
-     * Ejemplo: https://www.youtube.com/watch?v=dQw4w9WgXcQ
-     *       -> https://www.youtube.com/embed/dQw4w9WgXcQ
+     * Obtiene el ID del video de YouTube, o null si el link no es de YouTube
      */
-    private String convertirAUrlEmbebida(String url) {
-        if (url == null || url.isEmpty()) {
-            return url;
-        }
-
-        // Si ya es una URL embebida, retornar tal cual
-        if (url.contains("/embed/")) {
-            return url;
-        }
-
-        // Extraer el ID del video de YouTube
-        String videoId = extraerVideoId(url);
-        if (videoId != null) {
-            return "https://www.youtube.com/embed/" + videoId;
-        }
-
-        return url;
+    public String getVideoIdParaEmbed() {
+        return youtubeId != null ? youtubeId : YouTubeUrlParser.extraerId(link);
     }
 
     /**
-     * Extrae el ID del video de diferentes formatos de URL de YouTube
+     * Fecha de agregado en nanosegundos desde epoch (Long.MIN_VALUE si no tiene),
+     * para ordenar sin crear un LocalDateTime
      */
-    private String extraerVideoId(String url) {
-        // Formato: https://www.youtube.com/watch?v=VIDEO_ID
-        if (url.contains("watch?v=")) {
-            int startIndex = url.indexOf("watch?v=") + 8;
-            int endIndex = url.indexOf("&", startIndex);
-            if (endIndex == -1) {
-                return url.substring(startIndex);
-            }
-            return url.substring(startIndex, endIndex);
-        }
-
-        // Formato: https://youtu.be/VIDEO_ID
-        if (url.contains("youtu.be/")) {
-            int startIndex = url.indexOf("youtu.be/") + 9;
-            int endIndex = url.indexOf("?", startIndex);
-            if (endIndex == -1) {
-                return url.substring(startIndex);
-            }
-            return url.substring(startIndex, endIndex);
-        }
+    public long fechaEnNanos() {
+        return fechaNanos;
+    }
 
-        return null;
+    /**
+     * Id compacto, para usar como clave sin armar su texto (null si no tiene id)
+     */
+    public VideoId clave() {
+        return id;
     }
 
     /**
-     * Obtiene el ID del video para la URL embebida
+     * Compara los ids con el mismo orden que sus textos, sin materializarlos si son UUID
      */
-    public String getVideoIdParaEmbed() {
-        if (link != null && link.contains("/embed/")) {
-            return link.substring(link.lastIndexOf("/") + 1);
+    public int compararId(Video otro) {
+        if (id == null || otro.id == null) {
+            return id == otro.id ? 0 : (id == null ? -1 : 1);
         }
-        return null;
+        return id.compareTo(otro.id);
     }
 
     // Getters y Setters
 
     public String getId() {
-        return id;
+        if (idTexto == null && id != null) {
+            idTexto = id.toString();
+        }
+        return idTexto;
     }
 
     public void setId(String id) {
-        this.id = id;
+        // No se retiene el texto recibido: se vuelve a armar si se pide
+        this.id = VideoId.de(id);
+        this.idTexto = null;
     }
 
     public String getNombre() {
@@ -139,11 +174,20 @@ public class Video {
     }
 
     public String getLink() {
-        return link;
+        return youtubeId != null ? YouTubeUrlParser.URL_EMBEBIDA.concat(youtubeId) : link;
     }
 
     public void setLink(String link) {
-        this.link = link;
+        if (link != null
+                && link.length() == YouTubeUrlParser.URL_EMBEBIDA.length() + YouTubeUrlParser.LARGO_ID
+                && link.startsWith(YouTubeUrlParser.URL_EMBEBIDA)
+                && YouTubeUrlParser.inicioId(link) == YouTubeUrlParser.URL_EMBEBIDA.length()) {
+            this.youtubeId = link.substring(YouTubeUrlParser.URL_EMBEBIDA.length());
+            this.link = null;
+        } else {
+            this.youtubeId = null;
+            this.link = link;
+        }
     }
 
     public int getLikes() {
@@ -163,11 +207,24 @@ public class Video {
     }
 
     public LocalDateTime getFechaAgregado() {
-        return fechaAgregado;
+        if (fechaNanos == SIN_FECHA) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(fechaNanos, NANOS_POR_SEGUNDO),
+                (int) Math.floorMod(fechaNanos, NANOS_POR_SEGUNDO), ZoneOffset.UTC);
     }
 
+    /**
+     * @throws ArithmeticException si la fecha está fuera del rango representable (1677 a 2262)
+     */
     public void setFechaAgregado(LocalDateTime fechaAgregado) {
-        this.fechaAgregado = fechaAgregado;
+        if (fechaAgregado == null) {
+            this.fechaNanos = SIN_FECHA;
+        } else {
+            this.fechaNanos = Math.addExact(
+                    Math.multiplyExact(fechaAgregado.toEpochSecond(ZoneOffset.UTC), NANOS_POR_SEGUNDO),
+                    fechaAgregado.getNano());
+        }
     }
 
     @Override
@@ -177,26 +234,27 @@ public class Video {
         Video video = (Video) o;
         return likes == video.likes &&
                 favorito == video.favorito &&
-                java.util.Objects.equals(id, video.id) &&
-                java.util.Objects.equals(nombre, video.nombre) &&
-                java.util.Objects.equals(link, video.link) &&
-                java.util.Objects.equals(fechaAgregado, video.fechaAgregado);
+                fechaNanos == video.fechaNanos &&
+                Objects.equals(id, video.id) &&
+                Objects.equals(nombre, video.nombre) &&
+                Objects.equals(youtubeId, video.youtubeId) &&
+                Objects.equals(link, video.link);
     }
 
     @Override
     public int hashCode() {
-        return java.util.Objects.hash(id, nombre, link, likes, favorito, fechaAgregado);
+        return Objects.hash(id, nombre, youtubeId, link, likes, favorito, fechaNanos);
     }
 
     @Override
     public String toString() {
         return "Video{" +
-                "id='" + id + '\'' +
+                "id='" + getId() + '\'' +
                 ", nombre='" + nombre + '\'' +
-                ", link='" + link + '\'' +
+                ", link='" + getLink() + '\'' +
                 ", likes=" + likes +
                 ", favorito=" + favorito +
-                ", fechaAgregado=" + fechaAgregado +
+                ", fechaAgregado=" + getFechaAgregado() +
                 '}';
     }
 }
@@ -0,0 +1,119 @@
+package com.playlist.model;
+
+import java.util.UUID;
+
+/**
+ * Id de un video en forma compacta, para usar como clave de los índices
+ *
+ * Un UUID canónico (36 caracteres, hexadecimal en minúsculas) se guarda como
+ * dos long; cualquier otro id, como texto. Dos ids son iguales si y solo si
+ * lo son sus textos, y se ordenan igual que ellos.
+ */
+public final class VideoId implements Comparable<VideoId> {
+
+    private final long alto;
+    private final long bajo;
+
+    // Solo para ids que no son UUID canónicos
+    private final String texto;
+
+    private VideoId(long alto, long bajo, String texto) {
+        this.alto = alto;
+        this.bajo = bajo;
+        this.texto = texto;
+    }
+
+    public static VideoId de(UUID uuid) {
+        if (uuid.getMostSignificantBits() == 0 && uuid.getLeastSignificantBits() == 0) {
+            return new VideoId(0, 0, uuid.toString());
+        }
+        return new VideoId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), null);
+    }
+
+    /**
+     * El id de ese texto, o null si el texto es null
+     */
+    public static VideoId de(String id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.length() != 36) {
+            return new VideoId(0, 0, id);
+        }
+        // Se lee el UUID sin crear objetos; el UUID nulo (todo ceros) se guarda como texto
+        long alto = 0;
+        long bajo = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return new VideoId(0, 0, id);
+                }
+                continue;
+            }
+            int digito;
+            if (c >= '0' && c <= '9') {
+                digito = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digito = c - 'a' + 10;
+            } else {
+                return new VideoId(0, 0, id);
+            }
+            if (i < 18) {
+                alto = (alto << 4) | digito;
+            } else {
+                bajo = (bajo << 4) | digito;
+            }
+        }
+        return alto == 0 && bajo == 0 ? new VideoId(0, 0, id) : new VideoId(alto, bajo, null);
+    }
+
+    public boolean esUuid() {
+        return texto == null;
+    }
+
+    /**
+     * Bits altos del UUID (solo si {@link #esUuid()})
+     */
+    public long alto() {
+        return alto;
+    }
+
+    /**
+     * Bits bajos del UUID (solo si {@link #esUuid()})
+     */
+    public long bajo() {
+        return bajo;
+    }
+
+    @Override
+    public int compareTo(VideoId otro) {
+        if (esUuid() && otro.esUuid()) {
+            int comparacion = Long.compareUnsigned(alto, otro.alto);
+            return comparacion != 0 ? comparacion : Long.compareUnsigned(bajo, otro.bajo);
+        }
+        return toString().compareTo(otro.toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof VideoId otro)) return false;
+        return texto == null
+                ? otro.texto == null && alto == otro.alto && bajo == otro.bajo
+                : texto.equals(otro.texto);
+    }
+
+    @Override
+    public int hashCode() {
+        return texto == null ? Long.hashCode(alto ^ bajo) : texto.hashCode();
+    }
+
+    /**
+     * El texto del id; para un UUID se arma en cada llamada ({@link Video#getId()} lo guarda)
+     */
+    @Override
+    public String toString() {
+        return texto != null ? texto : new UUID(alto, bajo).toString();
+    }
+}
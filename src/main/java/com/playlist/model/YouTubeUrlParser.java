@@ -0,0 +1,168 @@
+package com.playlist.model;
+
+/**
+ * Parser de URLs de YouTube: valida, extrae el id de 11 caracteres y arma la URL embebida
+ *
+ * Recorre la URL una sola vez comparando regiones sobre el String original
+ * (sin split, sin regex ni substrings intermedios): validar no crea objetos,
+ * y extraer el id o la URL embebida crea solo el String resultante.
+ *
+ * Formatos aceptados (esquema http/https opcional, host sin distinguir mayúsculas):
+ * <ul>
+ *   <li>youtube.com/watch?v=ID, con v= en cualquier posición de la query</li>
+ *   <li>youtube.com/embed/ID, /shorts/ID, /live/ID y /v/ID</li>
+ *   <li>youtu.be/ID</li>
+ *   <li>subdominios www., m. y music., y youtube-nocookie.com</li>
+ * </ul>
+ */
+public final class YouTubeUrlParser {
+
+    /**
+     * Largo de un id de video de YouTube
+     */
+    public static final int LARGO_ID = 11;
+
+    /**
+     * Prefijo de la URL embebida canónica, seguido del id
+     */
+    public static final String URL_EMBEBIDA = "https://www.youtube.com/embed/";
+
+    // Rutas de youtube.com seguidas directamente por el id
+    private static final String[] RUTAS_CON_ID = {"embed/", "shorts/", "live/", "v/"};
+
+    private YouTubeUrlParser() {
+    }
+
+    /**
+     * Indica si la URL es de un video de YouTube con un id válido
+     */
+    public static boolean esValida(String url) {
+        return url != null && inicioId(url) >= 0;
+    }
+
+    /**
+     * Extrae el id del video, o null si la URL no es de un video de YouTube
+     */
+    public static String extraerId(String url) {
+        int inicio = url != null ? inicioId(url) : -1;
+        return inicio >= 0 ? url.substring(inicio, inicio + LARGO_ID) : null;
+    }
+
+    /**
+     * Convierte la URL a su forma embebida canónica (https://www.youtube.com/embed/ID)
+     * Si ya lo es se devuelve la misma instancia; si no es de YouTube, se devuelve sin cambios
+     */
+    public static String aUrlEmbebida(String url) {
+        int inicio = url != null ? inicioId(url) : -1;
+        if (inicio < 0) {
+            return url;
+        }
+        if (inicio == URL_EMBEBIDA.length() && url.length() == inicio + LARGO_ID && url.startsWith(URL_EMBEBIDA)) {
+            return url;
+        }
+        return new StringBuilder(URL_EMBEBIDA.length() + LARGO_ID)
+                .append(URL_EMBEBIDA)
+                .append(url, inicio, inicio + LARGO_ID)
+                .toString();
+    }
+
+    /**
+     * Posición donde empieza el id del video dentro de la URL, o -1 si no es válida
+     * Ignora espacios al inicio y al final
+     */
+    public static int inicioId(String url) {
+        int i = 0;
+        int fin = url.length();
+        while (i < fin && url.charAt(i) <= ' ') {
+            i++;
+        }
+        while (fin > i && url.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+
+        // Esquema opcional
+        if (url.regionMatches(true, i, "https://", 0, 8)) {
+            i += 8;
+        } else if (url.regionMatches(true, i, "http://", 0, 7)) {
+            i += 7;
+        }
+
+        // Host
+        if (url.regionMatches(true, i, "youtu.be/", 0, 9)) {
+            return idEn(url, i + 9, fin);
+        }
+        if (url.regionMatches(true, i, "www.", 0, 4)) {
+            i += 4;
+        } else if (url.regionMatches(true, i, "m.", 0, 2)) {
+            i += 2;
+        } else if (url.regionMatches(true, i, "music.", 0, 6)) {
+            i += 6;
+        }
+        if (url.regionMatches(true, i, "youtube.com/", 0, 12)) {
+            i += 12;
+        } else if (url.regionMatches(true, i, "youtube-nocookie.com/", 0, 21)) {
+            i += 21;
+        } else {
+            return -1;
+        }
+
+        // Ruta
+        if (url.startsWith("watch?", i)) {
+            return idEnQuery(url, i + 6, fin);
+        }
+        for (String ruta : RUTAS_CON_ID) {
+            if (url.startsWith(ruta, i)) {
+                return idEn(url, i + ruta.length(), fin);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Busca el parámetro v= entre los parámetros de la query (separados por &)
+     */
+    private static int idEnQuery(String url, int desde, int fin) {
+        int i = desde;
+        while (i < fin) {
+            if (url.startsWith("v=", i)) {
+                return idEn(url, i + 2, fin);
+            }
+            // Saltar al próximo parámetro
+            while (i < fin && url.charAt(i) != '&' && url.charAt(i) != '#') {
+                i++;
+            }
+            if (i >= fin || url.charAt(i) == '#') {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Verifica que en la posición haya un id de 11 caracteres seguido del fin de la URL
+     * o de un separador (?, &, # o /)
+     */
+    private static int idEn(String url, int inicio, int fin) {
+        int finId = inicio + LARGO_ID;
+        if (finId > fin) {
+            return -1;
+        }
+        for (int i = inicio; i < finId; i++) {
+            if (!esCaracterDeId(url.charAt(i))) {
+                return -1;
+            }
+        }
+        if (finId < fin) {
+            char siguiente = url.charAt(finId);
+            if (siguiente != '?' && siguiente != '&' && siguiente != '#' && siguiente != '/') {
+                return -1;
+            }
+        }
+        return inicio;
+    }
+
+    private static boolean esCaracterDeId(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,121 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot en formato binario compacto
+ *
+ * Encabezado: magic "PLV1" + cantidad de videos (int). Por video:
+ * <ul>
+ *   <li>flags (byte): id UUID, favorito, tiene fecha</li>
+ *   <li>id: UUID como dos long (128 bits), o string si no es un UUID</li>
+ *   <li>nombre y link: largo en bytes (int, -1 si es null) + UTF-8</li>
+ *   <li>likes (int)</li>
+ *   <li>fechaAgregado: milisegundos desde epoch en UTC (long)</li>
+ * </ul>
+ * La fecha se guarda con precisión de milisegundos.
+ */
+public class BinaryVideoCodec implements VideoCodec {
+
+    static final int MAGIC = 0x504C5631; // "PLV1"
+
+    private static final int FLAG_ID_UUID = 1;
+    private static final int FLAG_FAVORITO = 1 << 1;
+    private static final int FLAG_FECHA = 1 << 2;
+
+    @Override
+    public void escribir(Collection<Video> videos, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(videos.size());
+        for (Video video : videos) {
+            escribirVideo(video, data);
+        }
+        data.flush();
+    }
+
+    @Override
+    public List<Video> leer(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("El archivo no es un snapshot binario de videos (magic inválido)");
+        }
+        int cantidad = data.readInt();
+        List<Video> videos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            videos.add(leerVideo(data));
+        }
+        return videos;
+    }
+
+    private static void escribirVideo(Video video, DataOutputStream data) throws IOException {
+        VideoId id = video.clave();
+        boolean uuid = id != null && id.esUuid();
+        int flags = (uuid ? FLAG_ID_UUID : 0)
+                | (video.isFavorito() ? FLAG_FAVORITO : 0)
+                | (video.getFechaAgregado() != null ? FLAG_FECHA : 0);
+
+        data.writeByte(flags);
+        if (uuid) {
+            data.writeLong(id.alto());
+            data.writeLong(id.bajo());
+        } else {
+            escribirTexto(id != null ? id.toString() : null, data);
+        }
+        escribirTexto(video.getNombre(), data);
+        escribirTexto(video.getLink(), data);
+        data.writeInt(video.getLikes());
+        if (video.getFechaAgregado() != null) {
+            data.writeLong(video.getFechaAgregado().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static Video leerVideo(DataInputStream data) throws IOException {
+        int flags = data.readByte();
+        String id = (flags & FLAG_ID_UUID) != 0
+                ? new UUID(data.readLong(), data.readLong()).toString()
+                : leerTexto(data);
+        String nombre = leerTexto(data);
+        String link = leerTexto(data);
+        int likes = data.readInt();
+        LocalDateTime fecha = (flags & FLAG_FECHA) != 0
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(data.readLong()), ZoneOffset.UTC)
+                : null;
+        return new Video(id, nombre, link, likes, (flags & FLAG_FAVORITO) != 0, fecha);
+    }
+
+    private static void escribirTexto(String texto, DataOutputStream data) throws IOException {
+        if (texto == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String leerTexto(DataInputStream data) throws IOException {
+        int largo = data.readInt();
+        if (largo < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[largo];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
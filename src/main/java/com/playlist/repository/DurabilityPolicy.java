@@ -0,0 +1,25 @@
+package com.playlist.repository;
+
+/**
+ * Política de durabilidad de las escrituras: cuándo se fuerza a disco (fsync)
+ * lo que se registra. Permite elegir explícitamente entre latencia y durabilidad.
+ */
+public enum DurabilityPolicy {
+
+    /**
+     * Cada escritura se fuerza a disco antes de retornar (máxima durabilidad)
+     */
+    SYNC,
+
+    /**
+     * Las escrituras se fuerzan a disco en grupo, a lo sumo cada "group-commit-interval-ms".
+     * Ante un crash se pierde como máximo ese intervalo
+     */
+    GROUP_COMMIT,
+
+    /**
+     * No se fuerza a disco en cada escritura; queda a cargo del sistema operativo
+     * (se fuerza solo al compactar y al cerrar)
+     */
+    ASYNC
+}
@@ -0,0 +1,77 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de videos ordenado por fecha de agregado (y luego por id), o solo por id
+ *
+ * La clave no cambia con likes ni favoritos, así que solo se actualiza al
+ * agregar, reemplazar o eliminar un video. Permite paginar por cursor
+ * recorriendo únicamente la página pedida.
+ */
+class FechaIndex {
+
+    // Sin fecha primero (Long.MIN_VALUE), luego por fecha y por id
+    static final Comparator<Video> ORDEN = Comparator
+            .comparingLong(Video::fechaEnNanos)
+            .thenComparing(Video::compararId);
+
+    // Solo por id: con ids UUIDv7 coincide con el orden de inserción
+    static final Comparator<Video> ORDEN_ID = Video::compararId;
+
+    // El propio video es la clave: su fecha e id no cambian mientras está indexado
+    private final ConcurrentSkipListMap<Video, Video> indice;
+
+    FechaIndex() {
+        this(ORDEN);
+    }
+
+    FechaIndex(Comparator<Video> orden) {
+        this.indice = new ConcurrentSkipListMap<>(orden);
+    }
+
+    void agregar(Video video) {
+        indice.put(video, video);
+    }
+
+    void quitar(Video video) {
+        indice.remove(video);
+    }
+
+    void vaciar() {
+        indice.clear();
+    }
+
+    int size() {
+        return indice.size();
+    }
+
+    Collection<Video> valores() {
+        return indice.values();
+    }
+
+    /**
+     * Hasta "limite" videos posteriores a "despuesDe" (o desde el inicio si es null)
+     */
+    List<Video> pagina(Video despuesDe, int limite) {
+        ConcurrentNavigableMap<Video, Video> resto = despuesDe == null
+                ? indice
+                : indice.tailMap(despuesDe, false);
+
+        List<Video> pagina = new ArrayList<>(limite);
+        for (Video video : resto.values()) {
+            if (pagina.size() == limite) {
+                break;
+            }
+            pagina.add(video);
+        }
+        return pagina;
+    }
+}
@@ -0,0 +1,136 @@
+package com.playlist.repository;
+
+import com.playlist.config.PlaylistProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio residente en memoria con copia durable en archivo
+ * (snapshot JSON/binario, log de mutaciones o almacén mapeado, según playlist.persistence)
+ */
+@Repository
+@ConditionalOnProperty(name = "playlist.repository.type", havingValue = "file", matchIfMissing = true)
+public class FileVideoRepository extends ResidentVideoRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(FileVideoRepository.class);
+
+    // Directorio de datos por defecto de las versiones anteriores, relativo al directorio de trabajo
+    private static final Path DIRECTORIO_ANTERIOR = Paths.get("src/main/resources/data");
+
+    // Marca de una copia desde el directorio anterior que todavía no terminó
+    private static final String MARCA_COPIA = ".copiando-datos-anteriores";
+
+    @Autowired
+    public FileVideoRepository(PlaylistProperties properties) {
+        super(crearPersistencia(traerDatosAnteriores(properties.getPersistence())), properties.getBatch());
+    }
+
+    public FileVideoRepository(Path dataFilePath) {
+        super(crearPersistencia(new SnapshotFile(dataFilePath), new PlaylistProperties.Persistence()),
+                new PlaylistProperties.Batch());
+    }
+
+    private static PlaylistProperties.Persistence traerDatosAnteriores(PlaylistProperties.Persistence config) {
+        traerDatosAnteriores(Paths.get(config.getDataFile()), DIRECTORIO_ANTERIOR);
+        return config;
+    }
+
+    /**
+     * Copia los datos guardados en el directorio por defecto de versiones anteriores
+     * (src/main/resources/data) si en el nuevo todavía no hay ninguno
+     *
+     * Se copian todos los archivos de la playlist (snapshot, log, almacén mapeado) con
+     * el mismo nombre base que dataFile; los originales no se tocan. Si la copia se
+     * corta, la marca que queda en el directorio nuevo hace que se complete al volver
+     * a arrancar.
+     *
+     * @return cuántos archivos se copiaron
+     */
+    public static int traerDatosAnteriores(Path dataFile, Path directorioAnterior) {
+        Path directorio = dataFile.toAbsolutePath().getParent();
+        Path anterior = directorioAnterior.toAbsolutePath();
+        if (directorio.normalize().equals(anterior.normalize()) || !Files.isDirectory(anterior)) {
+            return 0;
+        }
+
+        try {
+            String prefijo = nombreBase(dataFile) + ".";
+            List<Path> archivos = archivosDeLaPlaylist(anterior, prefijo);
+            Path marca = directorio.resolve(MARCA_COPIA);
+            boolean reanudar = Files.exists(marca);
+            if (archivos.isEmpty() || (!reanudar && !archivosDeLaPlaylist(directorio, prefijo).isEmpty())) {
+                return 0;
+            }
+
+            log.warn("No hay datos en {}: se copian los de la ubicación anterior {}", directorio, anterior);
+            Files.createDirectories(directorio);
+            Files.writeString(marca, anterior.toString());
+            int copiados = 0;
+            for (Path origen : archivos) {
+                Path destino = directorio.resolve(origen.getFileName());
+                if (!Files.exists(destino)) {
+                    Path temporal = directorio.resolve(origen.getFileName() + ".copia");
+                    Files.copy(origen, temporal, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+                    copiados++;
+                }
+            }
+            Files.delete(marca);
+            log.warn("Se copiaron {} archivos de {} a {}; los originales se pueden borrar", copiados, anterior, directorio);
+            return copiados;
+        } catch (IOException e) {
+            throw new RuntimeException("Error al copiar los datos de " + anterior, e);
+        }
+    }
+
+    private static List<Path> archivosDeLaPlaylist(Path directorio, String prefijo) throws IOException {
+        if (!Files.isDirectory(directorio)) {
+            return List.of();
+        }
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .filter(Files::isRegularFile)
+                    .filter(archivo -> archivo.getFileName().toString().startsWith(prefijo))
+                    .filter(archivo -> !archivo.getFileName().toString().endsWith(".copia"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * videos.json -> videos
+     */
+    private static String nombreBase(Path dataFile) {
+        String nombre = dataFile.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        return punto > 0 ? nombre.substring(0, punto) : nombre;
+    }
+
+    private static VideoPersistence crearPersistencia(PlaylistProperties.Persistence config) {
+        return crearPersistencia(new SnapshotFile(Paths.get(config.getDataFile()), config.getFormat().codec()),
+                config);
+    }
+
+    private static VideoPersistence crearPersistencia(SnapshotFile snapshot,
+                                                      PlaylistProperties.Persistence config) {
+        return switch (config.getMode()) {
+            case SNAPSHOT -> new SnapshotPersistence(snapshot, config.getDurability(),
+                    config.getGroupCommitIntervalMs());
+            case JOURNAL -> new JournalPersistence(snapshot, config.getCompactEvery(),
+                    config.getDurability(), config.getGroupCommitIntervalMs());
+            case MAPPED -> new MappedPersistence(snapshot, config.getDurability(),
+                    config.getGroupCommitIntervalMs());
+        };
+    }
+}
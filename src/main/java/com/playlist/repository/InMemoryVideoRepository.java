@@ -0,0 +1,41 @@
+package com.playlist.repository;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.Video;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Repositorio solo en memoria, sin persistencia (para tests y demos)
+ * Arranca vacío y pierde los datos al detener la aplicación
+ */
+@Repository
+@ConditionalOnProperty(name = "playlist.repository.type", havingValue = "memory")
+public class InMemoryVideoRepository extends ResidentVideoRepository {
+
+    public InMemoryVideoRepository() {
+        super(new SinPersistencia(), new PlaylistProperties.Batch());
+    }
+
+    private static class SinPersistencia implements VideoPersistence {
+
+        @Override
+        public List<Video> cargar(Supplier<List<Video>> copiaDelEstado) {
+            return List.of();
+        }
+
+        @Override
+        public void registrar(Mutacion mutacion, Supplier<Collection<Video>> estado) {
+            // Nada que persistir
+        }
+
+        @Override
+        public void close() {
+            // Sin recursos que liberar
+        }
+    }
+}
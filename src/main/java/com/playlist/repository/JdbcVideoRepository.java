@@ -0,0 +1,307 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio sobre una base de datos H2 embebida (spring.datasource.url)
+ *
+ * Cada operación es una consulta: no hay estado residente. Los índices sobre
+ * likes, favorito y fecha_agregado resuelven el top N, los favoritos y la
+ * paginación por cursor sin recorrer la tabla; el de youtube_id, la detección
+ * de duplicados. Likes y favoritos se actualizan
+ * con un único UPDATE atómico que devuelve la fila resultante.
+ */
+@Repository
+@ConditionalOnProperty(name = "playlist.repository.type", havingValue = "jdbc")
+public class JdbcVideoRepository implements VideoRepository {
+
+    // Las escrituras van directo a la base: no hay agrupador de escrituras
+    private static final WriteBatcherMetrics SIN_AGRUPAR =
+            new WriteBatcherMetrics(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private static final String COLUMNAS = "id, nombre, link, likes, favorito, fecha_agregado";
+
+    // youtube_id solo se escribe: se deriva del link para indexarlo
+    private static final String MERGE = "MERGE INTO videos (" + COLUMNAS + ", youtube_id)"
+            + " KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<Video> VIDEO = (rs, fila) -> new Video(
+            rs.getString("id"),
+            rs.getString("nombre"),
+            rs.getString("link"),
+            rs.getInt("likes"),
+            rs.getBoolean("favorito"),
+            rs.getObject("fecha_agregado", LocalDateTime.class));
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaccion;
+
+    @Autowired
+    public JdbcVideoRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transaccion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        crearEsquema();
+        migrar();
+        completarYoutubeIds();
+    }
+
+    /**
+     * Crea la tabla y sus índices si no existen.
+     * "orden" conserva el orden de inserción (un reemplazo no lo cambia)
+     */
+    private void crearEsquema() {
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS videos (
+                    orden BIGINT GENERATED BY DEFAULT AS IDENTITY,
+                    id VARCHAR PRIMARY KEY,
+                    nombre VARCHAR,
+                    link VARCHAR,
+                    likes INT NOT NULL DEFAULT 0,
+                    favorito BOOLEAN NOT NULL DEFAULT FALSE,
+                    fecha_agregado TIMESTAMP(9)
+                )""");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_videos_orden ON videos (orden)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_videos_likes ON videos (likes DESC, fecha_agregado, id)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_videos_favorito_fecha ON videos (favorito, fecha_agregado, id)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_videos_fecha ON videos (fecha_agregado, id)");
+        jdbc.execute("ALTER TABLE videos ADD COLUMN IF NOT EXISTS youtube_id VARCHAR");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_videos_youtube_id ON videos (youtube_id)");
+    }
+
+    /**
+     * Aplica una sola vez, en orden, las migraciones que la base todavía no tiene
+     * La última versión aplicada queda en schema_version
+     */
+    private void migrar() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS schema_version (version INT NOT NULL)");
+        int version = jdbc.queryForObject("SELECT COALESCE(MAX(version), 0) FROM schema_version", Integer.class);
+
+        if (version < 1) {
+            // idx_videos_favorito quedó reemplazado por idx_videos_favorito_fecha
+            if (existeIndice("IDX_VIDEOS_FAVORITO")) {
+                jdbc.execute("DROP INDEX idx_videos_favorito");
+            }
+            jdbc.update("INSERT INTO schema_version (version) VALUES (1)");
+        }
+    }
+
+    private boolean existeIndice(String nombre) {
+        Integer cantidad = jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND INDEX_NAME = ?", Integer.class, nombre);
+        return cantidad != null && cantidad > 0;
+    }
+
+    /**
+     * Completa youtube_id en las filas guardadas antes de que existiera la columna
+     */
+    private void completarYoutubeIds() {
+        List<Object[]> filas = jdbc.query("SELECT " + COLUMNAS + " FROM videos"
+                        + " WHERE youtube_id IS NULL AND link LIKE '%/embed/%'", VIDEO).stream()
+                .map(video -> new Object[] {video.getVideoIdParaEmbed(), video.getId()})
+                .toList();
+        if (!filas.isEmpty()) {
+            jdbc.batchUpdate("UPDATE videos SET youtube_id = ? WHERE id = ?", filas);
+        }
+    }
+
+    @Override
+    public List<Video> findAll() {
+        return jdbc.query("SELECT " + COLUMNAS + " FROM videos ORDER BY orden", VIDEO);
+    }
+
+    @Override
+    public Stream<Video> streamAll() {
+        return jdbc.queryForStream("SELECT " + COLUMNAS + " FROM videos ORDER BY fecha_agregado, id", VIDEO);
+    }
+
+    @Override
+    public Optional<Video> findById(String id) {
+        return primero(jdbc.query("SELECT " + COLUMNAS + " FROM videos WHERE id = ?", VIDEO, id));
+    }
+
+    @Override
+    public Optional<Video> findByYoutubeId(String youtubeId) {
+        return primero(jdbc.query("SELECT " + COLUMNAS + " FROM videos WHERE youtube_id = ? LIMIT 1",
+                VIDEO, youtubeId));
+    }
+
+    @Override
+    public Optional<Video> incrementarLikes(String id) {
+        return primero(jdbc.query("SELECT " + COLUMNAS
+                + " FROM FINAL TABLE (UPDATE videos SET likes = likes + 1 WHERE id = ?)", VIDEO, id));
+    }
+
+    @Override
+    public Optional<Video> toggleFavorito(String id) {
+        return primero(jdbc.query("SELECT " + COLUMNAS
+                + " FROM FINAL TABLE (UPDATE videos SET favorito = NOT favorito WHERE id = ?)", VIDEO, id));
+    }
+
+    @Override
+    public Video save(Video video) {
+        jdbc.update(MERGE, parametros(video));
+        return video;
+    }
+
+    @Override
+    public void saveAll(Collection<Video> videos) {
+        if (videos.isEmpty()) {
+            return;
+        }
+        List<Object[]> filas = new ArrayList<>(videos.size());
+        for (Video video : videos) {
+            filas.add(parametros(video));
+        }
+        transaccion.executeWithoutResult(estado -> jdbc.batchUpdate(MERGE, filas));
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        return jdbc.update("DELETE FROM videos WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public int deleteAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> filas = ids.stream().map(id -> new Object[] {id}).toList();
+        int[] eliminados = transaccion.execute(estado ->
+                jdbc.batchUpdate("DELETE FROM videos WHERE id = ?", filas));
+        return eliminados != null ? Arrays.stream(eliminados).sum() : 0;
+    }
+
+    @Override
+    public void deleteAll() {
+        jdbc.update("DELETE FROM videos");
+    }
+
+    @Override
+    public long count() {
+        return contar("SELECT COUNT(*) FROM videos");
+    }
+
+    @Override
+    public long countFavoritos() {
+        return contar("SELECT COUNT(*) FROM videos WHERE favorito = TRUE");
+    }
+
+    @Override
+    public long sumLikes() {
+        return contar("SELECT COALESCE(SUM(likes), 0) FROM videos");
+    }
+
+    @Override
+    public List<Video> findFavoritos() {
+        return jdbc.query("SELECT " + COLUMNAS
+                + " FROM videos WHERE favorito = TRUE ORDER BY fecha_agregado, id", VIDEO);
+    }
+
+    @Override
+    public VideoPage findFavoritosPage(String after, int limit) {
+        List<Video> pagina;
+        if (after == null) {
+            pagina = jdbc.query("SELECT " + COLUMNAS + " FROM videos WHERE favorito = TRUE"
+                    + " ORDER BY fecha_agregado, id LIMIT ?", VIDEO, limit + 1);
+        } else {
+            Video cursor = buscarCursor(after);
+            pagina = jdbc.query("SELECT " + COLUMNAS + " FROM videos"
+                            + " WHERE favorito = TRUE AND (fecha_agregado, id) > (?, ?)"
+                            + " ORDER BY fecha_agregado, id LIMIT ?", VIDEO,
+                    cursor.getFechaAgregado(), cursor.getId(), limit + 1);
+        }
+        return aPagina(pagina, limit);
+    }
+
+    @Override
+    public List<Video> findTopByLikes(int limit) {
+        return jdbc.query("SELECT " + COLUMNAS
+                + " FROM videos ORDER BY likes DESC, fecha_agregado, id LIMIT ?", VIDEO, limit);
+    }
+
+    @Override
+    public VideoPage findPage(VideoSort orden, String after, int limit) {
+        List<Video> pagina;
+        if (after == null) {
+            pagina = switch (orden) {
+                case FECHA -> jdbc.query("SELECT " + COLUMNAS
+                        + " FROM videos ORDER BY fecha_agregado, id LIMIT ?", VIDEO, limit + 1);
+                case LIKES -> findTopByLikes(limit + 1);
+                case ID -> jdbc.query("SELECT " + COLUMNAS
+                        + " FROM videos ORDER BY id LIMIT ?", VIDEO, limit + 1);
+            };
+        } else {
+            Video cursor = buscarCursor(after);
+            pagina = switch (orden) {
+                case FECHA -> jdbc.query("SELECT " + COLUMNAS + " FROM videos"
+                                + " WHERE (fecha_agregado, id) > (?, ?)"
+                                + " ORDER BY fecha_agregado, id LIMIT ?", VIDEO,
+                        cursor.getFechaAgregado(), cursor.getId(), limit + 1);
+                case LIKES -> jdbc.query("SELECT " + COLUMNAS + " FROM videos"
+                                + " WHERE likes < ? OR (likes = ? AND (fecha_agregado, id) > (?, ?))"
+                                + " ORDER BY likes DESC, fecha_agregado, id LIMIT ?", VIDEO,
+                        cursor.getLikes(), cursor.getLikes(), cursor.getFechaAgregado(), cursor.getId(),
+                        limit + 1);
+                case ID -> jdbc.query("SELECT " + COLUMNAS + " FROM videos"
+                        + " WHERE id > ? ORDER BY id LIMIT ?", VIDEO, cursor.getId(), limit + 1);
+            };
+        }
+
+        return aPagina(pagina, limit);
+    }
+
+    @Override
+    public WriteBatcherMetrics getMetricasEscritura() {
+        return SIN_AGRUPAR;
+    }
+
+    @Override
+    public void close() {
+        // El DataSource lo administra Spring
+    }
+
+    private Video buscarCursor(String after) {
+        return findById(after).orElseThrow(
+                () -> new IllegalArgumentException("Cursor inválido: no existe el video " + after));
+    }
+
+    /**
+     * Arma la página a partir de hasta limit + 1 filas: la sobrante indica que hay siguiente
+     */
+    private static VideoPage aPagina(List<Video> pagina, int limit) {
+        boolean hayMas = pagina.size() > limit;
+        List<Video> videosPagina = hayMas ? pagina.subList(0, limit) : pagina;
+        String siguiente = hayMas ? videosPagina.get(limit - 1).getId() : null;
+        return new VideoPage(new ArrayList<>(videosPagina), siguiente);
+    }
+
+    private long contar(String sql) {
+        Long resultado = jdbc.queryForObject(sql, Long.class);
+        return resultado != null ? resultado : 0;
+    }
+
+    private static Object[] parametros(Video video) {
+        return new Object[] {video.getId(), video.getNombre(), video.getLink(),
+                video.getLikes(), video.isFavorito(), video.getFechaAgregado(), video.getVideoIdParaEmbed()};
+    }
+
+    private static Optional<Video> primero(List<Video> videos) {
+        return videos.stream().findFirst();
+    }
+}
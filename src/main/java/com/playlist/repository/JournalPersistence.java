@@ -0,0 +1,239 @@
+package com.playlist.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Persistencia con log de mutaciones (write-ahead log)
+ *
+ * Cada mutación se agrega como una línea JSON compacta a videos.log, con costo
+ * O(1) e independiente del tamaño de la playlist. Cada "compactEvery" registros
+ * el estado completo se vuelca al snapshot (videos.json) y el log se vacía.
+ * Al iniciar se carga el snapshot y se reproduce el log encima.
+ *
+ * Cuándo se fuerza el log a disco depende de la {@link DurabilityPolicy}:
+ * en cada registro (SYNC), agrupado por intervalo en un hilo aparte
+ * (GROUP_COMMIT) o solo al compactar y cerrar (ASYNC).
+ *
+ * No es thread-safe: el repositorio serializa las llamadas.
+ */
+class JournalPersistence implements VideoPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalPersistence.class);
+
+    private final SnapshotFile snapshot;
+    private final Path logPath;
+    private final int compactEvery;
+    private final DurabilityPolicy durability;
+    private final long intervaloMs;
+    private final Gson gson;
+    private final AtomicBoolean sinForzar = new AtomicBoolean();
+
+    private FileChannel channel;
+    private ScheduledExecutorService groupCommit;
+    private int registrosEnLog;
+
+    JournalPersistence(SnapshotFile snapshot, int compactEvery,
+                       DurabilityPolicy durability, long intervaloMs) {
+        this.snapshot = snapshot;
+        this.logPath = rutaDelLog(snapshot.getPath());
+        this.compactEvery = compactEvery;
+        this.durability = durability;
+        this.intervaloMs = intervaloMs;
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Video.class, new VideoTypeAdapter())
+                .create();
+    }
+
+    /**
+     * videos.json -> videos.log (en el mismo directorio)
+     */
+    static Path rutaDelLog(Path snapshotPath) {
+        String nombre = snapshotPath.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto > 0 ? nombre.substring(0, punto) : nombre;
+        return snapshotPath.resolveSibling(base + ".log");
+    }
+
+    @Override
+    public List<Video> cargar(Supplier<List<Video>> copiaDelEstado) {
+        snapshot.inicializar();
+
+        Map<VideoId, Video> estado = new LinkedHashMap<>();
+        for (Video video : snapshot.leer()) {
+            estado.put(video.clave(), video);
+        }
+        int reproducidos = reproducir(estado);
+        if (reproducidos > 0) {
+            log.info("Reproducidas {} mutaciones del log {}", reproducidos, logPath);
+        }
+
+        // Se parte siempre de un snapshot al día y un log vacío
+        abrirLog();
+        compactar(estado.values());
+
+        if (durability == DurabilityPolicy.GROUP_COMMIT) {
+            groupCommit = Executors.newSingleThreadScheduledExecutor(
+                    PersistenceThreads.daemon("journal-group-commit"));
+            groupCommit.scheduleWithFixedDelay(this::forzarPendiente,
+                    intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+        return new ArrayList<>(estado.values());
+    }
+
+    @Override
+    public void registrar(Mutacion mutacion, Supplier<Collection<Video>> estado) {
+        registrarLote(List.of(mutacion), estado);
+    }
+
+    /**
+     * Escribe todo el lote con una sola escritura (y un solo fsync si es SYNC)
+     */
+    @Override
+    public void registrarLote(List<Mutacion> mutaciones, Supplier<Collection<Video>> estado) {
+        if (mutaciones.isEmpty()) {
+            return;
+        }
+
+        StringBuilder lineas = new StringBuilder();
+        for (Mutacion mutacion : mutaciones) {
+            lineas.append(gson.toJson(mutacion)).append('\n');
+        }
+        ByteBuffer registros = StandardCharsets.UTF_8.encode(lineas.toString());
+        try {
+            while (registros.hasRemaining()) {
+                channel.write(registros);
+            }
+            if (durability == DurabilityPolicy.SYNC) {
+                channel.force(false);
+            } else {
+                sinForzar.set(true);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir en el log de mutaciones", e);
+        }
+
+        registrosEnLog += mutaciones.size();
+        if (registrosEnLog >= compactEvery) {
+            compactar(estado.get());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (groupCommit != null) {
+            PersistenceThreads.detener(groupCommit);
+        }
+        if (channel != null) {
+            forzarPendiente();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Error al cerrar el log de mutaciones: {}", e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Aplica sobre el estado cada registro del log.
+     * Una última línea incompleta (escritura cortada por un crash) se descarta.
+     */
+    private int reproducir(Map<VideoId, Video> estado) {
+        if (!Files.exists(logPath)) {
+            return 0;
+        }
+
+        List<String> lineas;
+        try {
+            lineas = Files.readAllLines(logPath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el log de mutaciones", e);
+        }
+
+        int reproducidos = 0;
+        for (int i = 0; i < lineas.size(); i++) {
+            String linea = lineas.get(i);
+            if (linea.isBlank()) {
+                continue;
+            }
+            try {
+                Mutacion.validar(gson.fromJson(linea, Mutacion.class)).aplicarA(estado);
+                reproducidos++;
+            } catch (JsonParseException | MutacionInvalidaException e) {
+                if (i == lineas.size() - 1) {
+                    log.warn("Se descarta el último registro incompleto del log {}", logPath);
+                } else {
+                    throw new IllegalStateException(
+                            "Log de mutaciones corrupto en la línea " + (i + 1) + ": " + logPath, e);
+                }
+            }
+        }
+        return reproducidos;
+    }
+
+    private void abrirLog() {
+        try {
+            channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al abrir el log de mutaciones", e);
+        }
+    }
+
+    /**
+     * Vuelca el estado completo al snapshot y vacía el log.
+     * El snapshot se escribe (de forma atómica) antes de truncar: si se corta en
+     * el medio, el log sigue completo y reproducirlo de nuevo es idempotente.
+     */
+    private void compactar(Collection<Video> videos) {
+        snapshot.escribir(videos);
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al truncar el log de mutaciones", e);
+        }
+        sinForzar.set(false);
+        registrosEnLog = 0;
+    }
+
+    /**
+     * Fuerza a disco los registros escritos desde el último fsync (group commit)
+     */
+    private void forzarPendiente() {
+        if (sinForzar.getAndSet(false)) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                sinForzar.set(true);
+                log.error("Error al forzar a disco el log de mutaciones", e);
+            }
+        }
+    }
+}
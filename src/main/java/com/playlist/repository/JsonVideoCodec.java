@@ -0,0 +1,47 @@
+package com.playlist.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.playlist.model.Video;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Snapshot en JSON con Gson (formato histórico de videos.json)
+ */
+public class JsonVideoCodec implements VideoCodec {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .registerTypeAdapter(Video.class, new VideoTypeAdapter())
+            .setPrettyPrinting()
+            .create();
+
+    @Override
+    public void escribir(Collection<Video> videos, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        gson.toJson(videos, writer);
+        writer.flush();
+    }
+
+    @Override
+    public List<Video> leer(InputStream in) throws IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        Type listType = new TypeToken<ArrayList<Video>>(){}.getType();
+        List<Video> videos = gson.fromJson(reader, listType);
+        return videos != null ? videos : new ArrayList<>();
+    }
+}
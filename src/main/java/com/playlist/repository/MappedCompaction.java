@@ -0,0 +1,32 @@
+package com.playlist.repository;
+
+import java.nio.file.Path;
+
+/**
+ * Compactación offline del almacén mapeado (modo {@link PersistenceMode#MAPPED})
+ */
+public final class MappedCompaction {
+
+    private MappedCompaction() {
+    }
+
+    /**
+     * Reescribe los slots y el segmento de datos sin espacio muerto ni slots libres.
+     * La aplicación no debe estar usando el almacén.
+     *
+     * @param dataFile archivo de datos configurado (playlist.persistence.data-file)
+     * @return bytes liberados
+     */
+    public static long compactar(Path dataFile) {
+        MappedStore store = new MappedStore(dataFile);
+        if (!store.existe()) {
+            throw new IllegalArgumentException("No hay un almacén mapeado para " + dataFile);
+        }
+        store.abrir();
+        try {
+            return store.compactar();
+        } finally {
+            store.close();
+        }
+    }
+}
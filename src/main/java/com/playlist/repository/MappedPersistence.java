@@ -0,0 +1,164 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Persistencia sobre un {@link MappedStore}: cada mutación se aplica en su lugar
+ *
+ * Un like o un cambio de favorito escribe un campo del slot en la memoria
+ * mapeada, sin reescribir ni agregar nada más. Guardar un video agrega sus
+ * datos al segmento; eliminarlo libera su slot para reutilizarlo.
+ *
+ * La primera vez que se usa, si existe un snapshot del modo anterior
+ * (videos.json y su log), se importa su contenido. El almacén recién aparece
+ * cuando la importación terminó: si se interrumpe, se repite en el próximo inicio.
+ *
+ * Cuándo se fuerza a disco depende de la {@link DurabilityPolicy}, igual que
+ * en el log de mutaciones. No es thread-safe: el repositorio serializa las llamadas.
+ */
+class MappedPersistence implements VideoPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPersistence.class);
+
+    private final MappedStore store;
+    private final SnapshotFile snapshotAnterior;
+    private final DurabilityPolicy durability;
+    private final long intervaloMs;
+    private final Map<VideoId, Integer> slotPorId = new HashMap<>();
+    private final AtomicBoolean sinForzar = new AtomicBoolean();
+
+    private ScheduledExecutorService groupCommit;
+
+    MappedPersistence(SnapshotFile snapshotAnterior, DurabilityPolicy durability, long intervaloMs) {
+        this.store = new MappedStore(snapshotAnterior.getPath());
+        this.snapshotAnterior = snapshotAnterior;
+        this.durability = durability;
+        this.intervaloMs = intervaloMs;
+    }
+
+    @Override
+    public List<Video> cargar(Supplier<List<Video>> copiaDelEstado) {
+        if (!store.existe() && Files.exists(snapshotAnterior.getPath())) {
+            importarSnapshot();
+        }
+        store.abrir();
+
+        List<Video> videos = new ArrayList<>();
+        for (MappedStore.Registro registro : store.leerTodos()) {
+            slotPorId.put(registro.video.clave(), registro.slot);
+            videos.add(registro.video);
+        }
+        long muerto = store.espacioMuerto();
+        if (muerto > 0) {
+            log.info("El segmento de datos tiene {} bytes sin usar (compactar con StorageTool compact)", muerto);
+        }
+
+        if (durability == DurabilityPolicy.GROUP_COMMIT) {
+            groupCommit = Executors.newSingleThreadScheduledExecutor(
+                    PersistenceThreads.daemon("mapped-group-commit"));
+            groupCommit.scheduleWithFixedDelay(this::forzarPendiente,
+                    intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+        return videos;
+    }
+
+    @Override
+    public void registrar(Mutacion mutacion, Supplier<Collection<Video>> estado) {
+        registrarLote(List.of(mutacion), estado);
+    }
+
+    @Override
+    public void registrarLote(List<Mutacion> mutaciones, Supplier<Collection<Video>> estado) {
+        if (mutaciones.isEmpty()) {
+            return;
+        }
+        for (Mutacion mutacion : mutaciones) {
+            aplicar(mutacion);
+        }
+        if (durability == DurabilityPolicy.SYNC) {
+            store.forzar();
+        } else {
+            sinForzar.set(true);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (groupCommit != null) {
+            PersistenceThreads.detener(groupCommit);
+        }
+        store.close();
+    }
+
+    private void aplicar(Mutacion mutacion) {
+        VideoId id = VideoId.de(mutacion.getId());
+        Integer slot = id != null ? slotPorId.get(id) : null;
+        switch (mutacion.getTipo()) {
+            case GUARDAR -> {
+                if (slot == null) {
+                    slotPorId.put(id, store.insertar(mutacion.getVideo()));
+                } else {
+                    store.reemplazar(slot, mutacion.getVideo());
+                }
+            }
+            case LIKES -> {
+                if (slot != null) {
+                    store.actualizarLikes(slot, mutacion.getLikes());
+                }
+            }
+            case FAVORITO -> {
+                if (slot != null) {
+                    store.actualizarFavorito(slot, mutacion.getFavorito());
+                }
+            }
+            case ELIMINAR -> {
+                if (slot != null) {
+                    store.liberar(slot);
+                    slotPorId.remove(id);
+                }
+            }
+            case VACIAR -> {
+                store.vaciar();
+                slotPorId.clear();
+            }
+        }
+    }
+
+    /**
+     * Crea el almacén con el snapshot (y el log pendiente) del modo de persistencia anterior
+     */
+    private void importarSnapshot() {
+        List<Video> videos;
+        try (JournalPersistence journal = new JournalPersistence(snapshotAnterior, 1, DurabilityPolicy.SYNC, 0)) {
+            videos = journal.cargar(ArrayList::new);
+        }
+        store.crear(videos);
+        log.info("Importados {} videos de {} al almacén mapeado", videos.size(), snapshotAnterior.getPath());
+    }
+
+    private void forzarPendiente() {
+        if (sinForzar.getAndSet(false)) {
+            try {
+                store.forzar();
+            } catch (RuntimeException e) {
+                sinForzar.set(true);
+                log.error("Error al forzar el almacén mapeado a disco", e);
+            }
+        }
+    }
+}
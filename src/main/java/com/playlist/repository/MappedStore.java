@@ -0,0 +1,508 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Almacén de videos en dos archivos: slots de ancho fijo mapeados en memoria
+ * (videos.slots) y un segmento de datos de solo-agregado (videos.N.data)
+ *
+ * Cada slot guarda los campos que cambian seguido (likes, favorito) junto con
+ * la fecha, el orden de inserción y la ubicación de los datos variables (id,
+ * nombre, link) en el segmento. Un like o un favorito es una única escritura
+ * en la memoria mapeada. Los slots de videos eliminados se encadenan en una
+ * lista libre y se reutilizan. Los datos reescritos o eliminados quedan como
+ * espacio muerto en el segmento hasta la compactación offline.
+ *
+ * El número N del segmento es la generación guardada en el encabezado: la
+ * compactación (y la importación inicial) escribe una generación nueva y
+ * cambia de slots con un rename atómico, así un crash deja siempre un par
+ * slots/segmento consistente.
+ *
+ * No es thread-safe: el repositorio serializa las llamadas.
+ */
+class MappedStore implements Closeable {
+
+    private static final int MAGIC = 0x504C534C; // "PLSL"
+    private static final int VERSION = 1;
+
+    // Encabezado: magic, versión, slots usados, cabeza de la lista libre, generación, secuencia
+    private static final int HEADER = 32;
+    private static final int H_SLOTS = 8;
+    private static final int H_LIBRE = 12;
+    private static final int H_GENERACION = 16;
+    private static final int H_SECUENCIA = 24;
+
+    // Slot: ocupado, favorito, likes, secuencia, fecha, offset y largo de los datos, siguiente libre
+    static final int SLOT = 40;
+    private static final int S_OCUPADO = 0;
+    private static final int S_FAVORITO = 1;
+    private static final int S_LIKES = 4;
+    private static final int S_SECUENCIA = 8;
+    private static final int S_FECHA = 16;
+    private static final int S_OFFSET = 24;
+    private static final int S_LARGO = 32;
+    private static final int S_SIGUIENTE = 36;
+
+    private static final int SIN_LIBRE = -1;
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final Path base;
+    private final Path slotsPath;
+
+    private FileChannel slotsChannel;
+    private FileChannel datosChannel;
+    private MappedByteBuffer slots;
+    private int capacidad;
+
+    /**
+     * Slot ocupado leído del archivo
+     */
+    static class Registro {
+        final int slot;
+        final long secuencia;
+        final Video video;
+
+        Registro(int slot, long secuencia, Video video) {
+            this.slot = slot;
+            this.secuencia = secuencia;
+            this.video = video;
+        }
+    }
+
+    /**
+     * @param dataFile archivo de datos configurado (videos.json): los archivos
+     *                 del almacén se crean a su lado con el mismo nombre base
+     */
+    MappedStore(Path dataFile) {
+        String nombre = dataFile.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        this.base = dataFile.resolveSibling(punto > 0 ? nombre.substring(0, punto) : nombre);
+        this.slotsPath = base.resolveSibling(base.getFileName() + ".slots");
+    }
+
+    boolean existe() {
+        return Files.exists(slotsPath);
+    }
+
+    /**
+     * Abre (o crea) los archivos del almacén y descarta restos de compactaciones interrumpidas
+     */
+    void abrir() {
+        try {
+            if (slotsPath.getParent() != null) {
+                Files.createDirectories(slotsPath.getParent());
+            }
+            Files.deleteIfExists(temporal(slotsPath));
+            boolean nuevo = !Files.exists(slotsPath);
+            slotsChannel = FileChannel.open(slotsPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            capacidad = nuevo ? CAPACIDAD_INICIAL
+                    : (int) ((slotsChannel.size() - HEADER) / SLOT);
+            mapear();
+            if (nuevo) {
+                slots.putInt(0, MAGIC);
+                slots.putInt(4, VERSION);
+                slots.putInt(H_SLOTS, 0);
+                slots.putInt(H_LIBRE, SIN_LIBRE);
+                slots.putLong(H_GENERACION, 0);
+                slots.putLong(H_SECUENCIA, 0);
+                slots.force();
+            } else if (slots.getInt(0) != MAGIC || slots.getInt(4) != VERSION) {
+                throw new IOException("El archivo " + slotsPath + " no es un archivo de slots válido");
+            }
+            borrarSegmentosViejos();
+            datosChannel = FileChannel.open(segmento(generacion()), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al abrir el almacén mapeado", e);
+        }
+    }
+
+    /**
+     * Todos los videos vigentes, en orden de inserción
+     */
+    List<Registro> leerTodos() {
+        List<Registro> registros = new ArrayList<>();
+        int usados = slots.getInt(H_SLOTS);
+        for (int slot = 0; slot < usados; slot++) {
+            if (slots.get(posicion(slot) + S_OCUPADO) != 0) {
+                registros.add(leer(slot));
+            }
+        }
+        registros.sort(Comparator.comparingLong(registro -> registro.secuencia));
+        return registros;
+    }
+
+    /**
+     * Agrega un video nuevo, reutilizando un slot libre si hay
+     */
+    int insertar(Video video) {
+        int slot = tomarSlot();
+        long secuencia = slots.getLong(H_SECUENCIA);
+        slots.putLong(H_SECUENCIA, secuencia + 1);
+        escribirSlot(slot, secuencia, video);
+        return slot;
+    }
+
+    /**
+     * Reescribe un video existente: datos nuevos al final del segmento y slot actualizado
+     */
+    void reemplazar(int slot, Video video) {
+        escribirSlot(slot, slots.getLong(posicion(slot) + S_SECUENCIA), video);
+    }
+
+    void actualizarLikes(int slot, int likes) {
+        slots.putInt(posicion(slot) + S_LIKES, likes);
+    }
+
+    void actualizarFavorito(int slot, boolean favorito) {
+        slots.put(posicion(slot) + S_FAVORITO, (byte) (favorito ? 1 : 0));
+    }
+
+    /**
+     * Marca el slot como libre y lo agrega a la lista libre
+     */
+    void liberar(int slot) {
+        int posicion = posicion(slot);
+        slots.put(posicion + S_OCUPADO, (byte) 0);
+        slots.putInt(posicion + S_SIGUIENTE, slots.getInt(H_LIBRE));
+        slots.putInt(H_LIBRE, slot);
+    }
+
+    /**
+     * Elimina todos los videos y descarta el segmento de datos
+     */
+    void vaciar() {
+        slots.putInt(H_SLOTS, 0);
+        slots.putInt(H_LIBRE, SIN_LIBRE);
+        try {
+            datosChannel.truncate(0);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al vaciar el segmento de datos", e);
+        }
+    }
+
+    /**
+     * Fuerza a disco el segmento de datos y luego los slots que apuntan a él
+     */
+    void forzar() {
+        try {
+            datosChannel.force(false);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al forzar el segmento de datos", e);
+        }
+        slots.force();
+    }
+
+    /**
+     * Bytes del segmento de datos que ya no referencia ningún slot
+     */
+    long espacioMuerto() {
+        long vivos = 0;
+        int usados = slots.getInt(H_SLOTS);
+        for (int slot = 0; slot < usados; slot++) {
+            int posicion = posicion(slot);
+            if (slots.get(posicion + S_OCUPADO) != 0) {
+                vivos += slots.getInt(posicion + S_LARGO);
+            }
+        }
+        try {
+            return datosChannel.size() - vivos;
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el segmento de datos", e);
+        }
+    }
+
+    /**
+     * Crea el almacén con esos videos, que todavía no debe existir.
+     * Se escriben en una generación temporal que pasa a ser el almacén con el
+     * rename final de los slots: si se corta antes, el almacén sigue sin existir
+     * y la próxima apertura repite la importación desde cero.
+     */
+    void crear(List<Video> videos) {
+        try {
+            if (slotsPath.getParent() != null) {
+                Files.createDirectories(slotsPath.getParent());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al crear el almacén mapeado", e);
+        }
+        moverAtomicamente(escribirGeneracion(videos, 0), slotsPath);
+    }
+
+    /**
+     * Reescribe el almacén sin espacio muerto ni slots libres, en una generación nueva
+     *
+     * @return bytes liberados en total (slots + datos)
+     */
+    long compactar() {
+        List<Video> videos = leerTodos().stream().map(registro -> registro.video).toList();
+        long antes = tamanio();
+        Path slotsTemporal = escribirGeneracion(videos, generacion() + 1);
+
+        close();
+        moverAtomicamente(slotsTemporal, slotsPath);
+        abrir();
+        return antes - tamanio();
+    }
+
+    /**
+     * Escribe los videos, en orden y sin huecos, en el segmento de esa generación
+     * y en un archivo de slots temporal, ambos forzados a disco
+     *
+     * @return el archivo de slots temporal, listo para moverse a su lugar
+     */
+    private Path escribirGeneracion(List<Video> videos, long generacionNueva) {
+        Path slotsTemporal = temporal(slotsPath);
+        try (FileChannel datosNuevos = FileChannel.open(segmento(generacionNueva), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             FileChannel slotsNuevos = FileChannel.open(slotsTemporal, StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int capacidadNueva = Math.max(CAPACIDAD_INICIAL, videos.size());
+            MappedByteBuffer mapa = slotsNuevos.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER + (long) capacidadNueva * SLOT);
+            mapa.putInt(0, MAGIC);
+            mapa.putInt(4, VERSION);
+            mapa.putInt(H_SLOTS, videos.size());
+            mapa.putInt(H_LIBRE, SIN_LIBRE);
+            mapa.putLong(H_GENERACION, generacionNueva);
+            mapa.putLong(H_SECUENCIA, videos.size());
+
+            for (int slot = 0; slot < videos.size(); slot++) {
+                Video video = videos.get(slot);
+                ByteBuffer datos = codificar(video);
+                int largo = datos.remaining();
+                long offset = datosNuevos.position();
+                while (datos.hasRemaining()) {
+                    datosNuevos.write(datos);
+                }
+                escribirCampos(mapa, HEADER + slot * SLOT, slot, video, offset, largo);
+            }
+            datosNuevos.force(false);
+            mapa.force();
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir una generación del almacén mapeado", e);
+        }
+        return slotsTemporal;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (slots != null) {
+                slots.force();
+                slots = null;
+            }
+            if (datosChannel != null) {
+                datosChannel.force(false);
+                datosChannel.close();
+                datosChannel = null;
+            }
+            if (slotsChannel != null) {
+                slotsChannel.close();
+                slotsChannel = null;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al cerrar el almacén mapeado", e);
+        }
+    }
+
+    private Registro leer(int slot) {
+        int posicion = posicion(slot);
+        long offset = slots.getLong(posicion + S_OFFSET);
+        ByteBuffer datos = ByteBuffer.allocate(slots.getInt(posicion + S_LARGO));
+        try {
+            while (datos.hasRemaining()) {
+                if (datosChannel.read(datos, offset + datos.position()) < 0) {
+                    throw new IOException("Segmento de datos truncado en el slot " + slot);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el segmento de datos", e);
+        }
+        datos.flip();
+
+        String id = leerTexto(datos);
+        String nombre = leerTexto(datos);
+        String link = leerTexto(datos);
+        long fecha = slots.getLong(posicion + S_FECHA);
+        Video video = new Video(id, nombre, link,
+                slots.getInt(posicion + S_LIKES),
+                slots.get(posicion + S_FAVORITO) != 0,
+                fecha == SIN_FECHA ? null : desdeNanos(fecha));
+        return new Registro(slot, slots.getLong(posicion + S_SECUENCIA), video);
+    }
+
+    private void escribirSlot(int slot, long secuencia, Video video) {
+        ByteBuffer datos = codificar(video);
+        int largo = datos.remaining();
+        long offset;
+        try {
+            offset = datosChannel.size();
+            while (datos.hasRemaining()) {
+                datosChannel.write(datos, offset + datos.position());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir en el segmento de datos", e);
+        }
+        // Los datos se escriben antes que el slot que los referencia
+        escribirCampos(slots, posicion(slot), secuencia, video, offset, largo);
+    }
+
+    private static void escribirCampos(ByteBuffer mapa, int posicion, long secuencia, Video video,
+                                       long offset, int largo) {
+        mapa.put(posicion + S_FAVORITO, (byte) (video.isFavorito() ? 1 : 0));
+        mapa.putInt(posicion + S_LIKES, video.getLikes());
+        mapa.putLong(posicion + S_SECUENCIA, secuencia);
+        mapa.putLong(posicion + S_FECHA, video.getFechaAgregado() == null
+                ? SIN_FECHA : aNanos(video.getFechaAgregado()));
+        mapa.putLong(posicion + S_OFFSET, offset);
+        mapa.putInt(posicion + S_LARGO, largo);
+        mapa.putInt(posicion + S_SIGUIENTE, SIN_LIBRE);
+        mapa.put(posicion + S_OCUPADO, (byte) 1);
+    }
+
+    private int tomarSlot() {
+        int libre = slots.getInt(H_LIBRE);
+        if (libre != SIN_LIBRE) {
+            slots.putInt(H_LIBRE, slots.getInt(posicion(libre) + S_SIGUIENTE));
+            return libre;
+        }
+        int usados = slots.getInt(H_SLOTS);
+        if (usados == capacidad) {
+            capacidad *= 2;
+            mapear();
+        }
+        slots.putInt(H_SLOTS, usados + 1);
+        return usados;
+    }
+
+    /**
+     * Mapea el archivo de slots completo (al crecer, el archivo se extiende)
+     */
+    private void mapear() {
+        try {
+            slots = slotsChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacidad * SLOT);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al mapear el archivo de slots", e);
+        }
+    }
+
+    private long generacion() {
+        return slots.getLong(H_GENERACION);
+    }
+
+    private Path segmento(long generacion) {
+        return base.resolveSibling(base.getFileName() + "." + generacion + ".data");
+    }
+
+    private void borrarSegmentosViejos() throws IOException {
+        Path vigente = segmento(generacion());
+        String prefijo = base.getFileName() + ".";
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(slotsPath.toAbsolutePath().getParent(),
+                prefijo + "*.data")) {
+            for (Path archivo : archivos) {
+                if (!archivo.getFileName().equals(vigente.getFileName())) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+    }
+
+    private long tamanio() {
+        try {
+            return Files.size(slotsPath) + Files.size(segmento(generacion()));
+        } catch (IOException e) {
+            throw new RuntimeException("Error al medir el almacén mapeado", e);
+        }
+    }
+
+    private static int posicion(int slot) {
+        return HEADER + slot * SLOT;
+    }
+
+    private static Path temporal(Path path) {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    private static void moverAtomicamente(Path origen, Path destino) {
+        try {
+            try {
+                Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al reemplazar el archivo de slots", e);
+        }
+    }
+
+    private static ByteBuffer codificar(Video video) {
+        byte[] id = bytes(video.getId());
+        byte[] nombre = bytes(video.getNombre());
+        byte[] link = bytes(video.getLink());
+        ByteBuffer buffer = ByteBuffer.allocate(12 + largo(id) + largo(nombre) + largo(link));
+        escribirTexto(buffer, id);
+        escribirTexto(buffer, nombre);
+        escribirTexto(buffer, link);
+        return buffer.flip();
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int largo(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void escribirTexto(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        int largo = buffer.getInt();
+        if (largo < 0) {
+            return null;
+        }
+        String texto = new String(buffer.array(), buffer.position(), largo, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + largo);
+        return texto;
+    }
+
+    /**
+     * La fecha en nanosegundos desde epoch (UTC), sin pérdida de precisión hasta el año 2262
+     */
+    private static long aNanos(LocalDateTime fecha) {
+        Instant instante = fecha.toInstant(ZoneOffset.UTC);
+        return instante.getEpochSecond() * 1_000_000_000L + instante.getNano();
+    }
+
+    private static LocalDateTime desdeNanos(long nanos) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(0, nanos), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,152 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+
+import java.util.Map;
+
+/**
+ * Registro compacto de una mutación sobre la playlist
+ *
+ * Guarda valores absolutos (likes totales, estado de favorito) en lugar de
+ * deltas, así reproducir el mismo registro dos veces da el mismo resultado.
+ */
+class Mutacion {
+
+    enum Tipo {
+        GUARDAR, LIKES, FAVORITO, ELIMINAR, VACIAR
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final Video video;
+    private final Integer likes;
+    private final Boolean favorito;
+
+    private Mutacion(Tipo tipo, String id, Video video, Integer likes, Boolean favorito) {
+        this.tipo = tipo;
+        this.id = id;
+        this.video = video;
+        this.likes = likes;
+        this.favorito = favorito;
+    }
+
+    static Mutacion guardar(Video video) {
+        return new Mutacion(Tipo.GUARDAR, video.getId(), video, null, null);
+    }
+
+    static Mutacion likes(String id, int likes) {
+        return new Mutacion(Tipo.LIKES, id, null, likes, null);
+    }
+
+    static Mutacion favorito(String id, boolean favorito) {
+        return new Mutacion(Tipo.FAVORITO, id, null, null, favorito);
+    }
+
+    static Mutacion eliminar(String id) {
+        return new Mutacion(Tipo.ELIMINAR, id, null, null, null);
+    }
+
+    static Mutacion vaciar() {
+        return new Mutacion(Tipo.VACIAR, null, null, null, null);
+    }
+
+    /**
+     * Comprueba que un registro leído del log tenga lo que su tipo necesita
+     *
+     * @return el mismo registro
+     * @throws MutacionInvalidaException si es nulo o le falta el tipo, el id o el valor
+     */
+    static Mutacion validar(Mutacion mutacion) {
+        if (mutacion == null) {
+            throw new MutacionInvalidaException("Registro nulo");
+        }
+        if (mutacion.tipo == null) {
+            throw new MutacionInvalidaException("Registro sin tipo");
+        }
+        if (mutacion.tipo != Tipo.VACIAR && mutacion.id == null) {
+            throw new MutacionInvalidaException("Registro " + mutacion.tipo + " sin id");
+        }
+        boolean completo = switch (mutacion.tipo) {
+            case GUARDAR -> mutacion.video != null;
+            case LIKES -> mutacion.likes != null;
+            case FAVORITO -> mutacion.favorito != null;
+            case ELIMINAR, VACIAR -> true;
+        };
+        if (!completo) {
+            throw new MutacionInvalidaException("Registro " + mutacion.tipo + " incompleto: " + mutacion.id);
+        }
+        return mutacion;
+    }
+
+    /**
+     * Aplica la mutación sobre un estado id -> Video (usado al reproducir el log)
+     */
+    void aplicarA(Map<VideoId, Video> estado) {
+        VideoId id = VideoId.de(this.id);
+        switch (tipo) {
+            case GUARDAR -> estado.put(id, video);
+            case LIKES -> {
+                Video existente = estado.get(id);
+                if (existente != null) {
+                    existente.setLikes(likes);
+                }
+            }
+            case FAVORITO -> {
+                Video existente = estado.get(id);
+                if (existente != null) {
+                    existente.setFavorito(favorito);
+                }
+            }
+            case ELIMINAR -> estado.remove(id);
+            case VACIAR -> estado.clear();
+        }
+    }
+
+    /**
+     * Deduce el registro más compacto que lleva de "anterior" a "nuevo"
+     */
+    static Mutacion entre(Video anterior, Video nuevo) {
+        if (anterior != null && soloCambianLikes(anterior, nuevo)) {
+            return likes(nuevo.getId(), nuevo.getLikes());
+        }
+        if (anterior != null && soloCambiaFavorito(anterior, nuevo)) {
+            return favorito(nuevo.getId(), nuevo.isFavorito());
+        }
+        return guardar(nuevo);
+    }
+
+    private static boolean soloCambianLikes(Video anterior, Video nuevo) {
+        return anterior.isFavorito() == nuevo.isFavorito() && mismosDatos(anterior, nuevo);
+    }
+
+    private static boolean soloCambiaFavorito(Video anterior, Video nuevo) {
+        return anterior.getLikes() == nuevo.getLikes() && mismosDatos(anterior, nuevo);
+    }
+
+    private static boolean mismosDatos(Video anterior, Video nuevo) {
+        return java.util.Objects.equals(anterior.getNombre(), nuevo.getNombre())
+                && java.util.Objects.equals(anterior.getLink(), nuevo.getLink())
+                && java.util.Objects.equals(anterior.getFechaAgregado(), nuevo.getFechaAgregado());
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Video getVideo() {
+        return video;
+    }
+
+    public Integer getLikes() {
+        return likes;
+    }
+
+    public Boolean getFavorito() {
+        return favorito;
+    }
+}
@@ -0,0 +1,12 @@
+package com.playlist.repository;
+
+/**
+ * Un registro del log de mutaciones que se pudo leer como JSON pero no describe
+ * una mutación aplicable (registro nulo, sin tipo, sin id o sin su valor)
+ */
+class MutacionInvalidaException extends RuntimeException {
+
+    MutacionInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
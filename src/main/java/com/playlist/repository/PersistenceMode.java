@@ -0,0 +1,23 @@
+package com.playlist.repository;
+
+/**
+ * Modos de persistencia disponibles para el repositorio de videos
+ */
+public enum PersistenceMode {
+
+    /**
+     * Reescribe el snapshot completo (videos.json) en cada mutación
+     */
+    SNAPSHOT,
+
+    /**
+     * Agrega cada mutación a un log (videos.log) y compacta periódicamente en el snapshot
+     */
+    JOURNAL,
+
+    /**
+     * Slots de ancho fijo mapeados en memoria (videos.slots) + segmento de datos:
+     * likes y favoritos se actualizan en su lugar
+     */
+    MAPPED
+}
@@ -0,0 +1,37 @@
+package com.playlist.repository;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utilidades para los hilos en segundo plano de la persistencia
+ */
+final class PersistenceThreads {
+
+    private PersistenceThreads() {
+    }
+
+    /**
+     * Fábrica de hilos daemon con nombre, para no impedir que la JVM termine
+     */
+    static ThreadFactory daemon(String nombre) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, nombre);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Detiene el executor esperando a que termine la tarea en curso
+     */
+    static void detener(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Fachada reactiva sobre el repositorio de videos, para la API reactiva (/rx/api)
+ *
+ * Nunca bloquea el event loop: las lecturas de un repositorio residente se
+ * resuelven en memoria sin locks y se ejecutan en el mismo hilo; las de un
+ * repositorio que bloquea (JDBC) y todas las escrituras, que persisten, se
+ * ejecutan en un pool acotado de hilos aparte. Los listados se emiten de a un
+ * video según lo que pide el suscriptor (backpressure): el recorrido avanza
+ * al ritmo en que la respuesta se escribe en la conexión.
+ */
+public class ReactiveVideoRepository {
+
+    private final VideoRepository repository;
+    private final Scheduler bloqueante;
+
+    /**
+     * @param hilosBloqueantes máximo de hilos para las operaciones que bloquean
+     */
+    public ReactiveVideoRepository(VideoRepository repository, int hilosBloqueantes) {
+        this.repository = repository;
+        this.bloqueante = Schedulers.newBoundedElastic(hilosBloqueantes,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "rx-bloqueante", 60, true);
+    }
+
+    /**
+     * Todos los videos por fecha de agregado, emitidos a demanda
+     * El recorrido (y el cursor, en JDBC) se cierra al completar o cancelar
+     */
+    public Flux<Video> streamAll() {
+        return leer(Flux.fromStream(repository::streamAll));
+    }
+
+    /**
+     * Página de videos con paginación por cursor
+     *
+     * @throws IllegalArgumentException (como error del Mono) si el cursor no existe
+     */
+    public Mono<VideoPage> findPage(VideoSort orden, String after, int limit) {
+        return leer(Mono.fromCallable(() -> repository.findPage(orden, after, limit)));
+    }
+
+    public Flux<Video> findTopByLikes(int limit) {
+        return leer(Flux.defer(() -> Flux.fromIterable(repository.findTopByLikes(limit))));
+    }
+
+    public Mono<Video> findById(String id) {
+        return leer(Mono.fromCallable(() -> repository.findById(id))).flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Ejecuta una escritura fuera del event loop
+     * Las mutaciones pasan por VideoService (índice de búsqueda, eventos y versión);
+     * acá solo se les asigna un hilo que puede bloquear en la persistencia.
+     * Si la escritura devuelve null, el Mono termina vacío
+     */
+    public <T> Mono<T> escribir(Callable<T> escritura) {
+        return Mono.fromCallable(escritura).subscribeOn(bloqueante);
+    }
+
+    /**
+     * Libera los hilos del pool bloqueante
+     */
+    public void close() {
+        bloqueante.dispose();
+    }
+
+    private <T> Flux<T> leer(Flux<T> lectura) {
+        return repository.lecturasNoBloqueantes() ? lectura : lectura.subscribeOn(bloqueante);
+    }
+
+    private <T> Mono<T> leer(Mono<T> lectura) {
+        return repository.lecturasNoBloqueantes() ? lectura : lectura.subscribeOn(bloqueante);
+    }
+}
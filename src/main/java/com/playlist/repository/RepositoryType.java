@@ -0,0 +1,22 @@
+package com.playlist.repository;
+
+/**
+ * Implementaciones disponibles de {@link VideoRepository} (playlist.repository.type)
+ */
+public enum RepositoryType {
+
+    /**
+     * Videos residentes en memoria con copia durable en archivo (playlist.persistence)
+     */
+    FILE,
+
+    /**
+     * Base de datos H2 embebida configurada con spring.datasource.url
+     */
+    JDBC,
+
+    /**
+     * Solo en memoria, sin persistencia (tests y demos)
+     */
+    MEMORY
+}
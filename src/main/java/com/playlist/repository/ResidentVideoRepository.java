@@ -0,0 +1,559 @@
+package com.playlist.repository;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio con todos los videos residentes en memoria
+ *
+ * Los videos se cargan una única vez al iniciar y se mantienen en memoria
+ * (mapa id -> Video más índices secundarios). Las lecturas se resuelven en
+ * memoria y la persistencia queda solo como copia durable. Los índices usan
+ * como clave el {@link VideoId} compacto de cada video residente, el mismo
+ * objeto en todos, sin armar el texto de los ids.
+ *
+ * La escritura durable se delega en una {@link VideoPersistence}: la elige
+ * cada implementación ({@link FileVideoRepository}, {@link InMemoryVideoRepository}).
+ *
+ * Los likes toman el lock de lectura, compartido entre ellos: se incrementan
+ * con CAS sobre el video residente y solo esperan a las escrituras, así no
+ * tocan contadores ni ranking de un video que se está eliminando. Likes y
+ * favoritos se persisten en lotes a través de un {@link WriteBatcher}, que
+ * fusiona los cambios de cada video.
+ */
+public abstract class ResidentVideoRepository implements VideoRepository {
+
+    private final VideoPersistence persistence;
+
+    // Almacén residente: id -> Video, en orden de inserción
+    private final Map<VideoId, Video> videos = new LinkedHashMap<>();
+
+    // Mismos videos residentes, para búsquedas por id sin tomar el lock
+    private final Map<VideoId, Video> porId = new ConcurrentHashMap<>();
+
+    // Índice secundario: id de YouTube -> ids de los videos con ese link (detección de duplicados).
+    // Los arreglos no se modifican: se reemplazan con el lock de escritura
+    private final Map<String, VideoId[]> porYoutubeId = new ConcurrentHashMap<>();
+
+    // Índice secundario: videos favoritos ordenados por fecha de agregado
+    private final FechaIndex favoritos = new FechaIndex();
+
+    // Índice secundario: ranking por likes para el top N
+    private final TopLikesIndex ranking = new TopLikesIndex();
+
+    // Índice secundario: orden por fecha de agregado, para paginar
+    private final FechaIndex porFecha = new FechaIndex();
+
+    // Índice secundario: orden por id, para paginar
+    private final FechaIndex porOrdenId = new FechaIndex(FechaIndex.ORDEN_ID);
+
+    // Contadores de estadísticas, mantenidos en cada mutación
+    private final LongAdder totalLikes = new LongAdder();
+    private final LongAdder totalFavoritos = new LongAdder();
+
+    private static final VideoId[] SIN_IDS = new VideoId[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final WriteBatcher batcher;
+
+    ResidentVideoRepository(VideoPersistence persistence, PlaylistProperties.Batch batch) {
+        this.persistence = persistence;
+        cargarEnMemoria();
+        this.batcher = new WriteBatcher(this::persistirLote, batch.getWindowMs(), batch.getMaxSize());
+    }
+
+    /**
+     * Carga el estado persistido en el almacén en memoria (solo al iniciar)
+     */
+    private void cargarEnMemoria() {
+        for (Video video : persistence.cargar(this::findAll)) {
+            indexar(video);
+        }
+    }
+
+    /**
+     * Libera los recursos de la persistencia al detener la aplicación
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        batcher.close();
+
+        lock.writeLock().lock();
+        try {
+            persistence.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene todos los videos
+     */
+    @Override
+    public List<Video> findAll() {
+        lock.readLock().lock();
+        try {
+            return videos.values().stream()
+                    .map(ResidentVideoRepository::copiar)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre todos los videos en orden de fecha sin materializar la lista completa
+     * La copia de cada video se crea recién cuando el consumidor la pide, y el
+     * recorrido es débilmente consistente (no bloquea a las escrituras).
+     * Debe cerrarse al terminar (try-with-resources)
+     */
+    @Override
+    public Stream<Video> streamAll() {
+        return porFecha.valores().stream().map(ResidentVideoRepository::copiar);
+    }
+
+    /**
+     * Busca un video por su ID
+     */
+    @Override
+    public Optional<Video> findById(String id) {
+        return Optional.ofNullable(porId.get(VideoId.de(id))).map(ResidentVideoRepository::copiar);
+    }
+
+    /**
+     * Busca un video por su id de YouTube con el índice hash, sin tomar el lock
+     */
+    @Override
+    public Optional<Video> findByYoutubeId(String youtubeId) {
+        VideoId[] ids = porYoutubeId.getOrDefault(youtubeId, SIN_IDS);
+        for (VideoId id : ids) {
+            Video residente = porId.get(id);
+            if (residente != null) {
+                return Optional.of(copiar(residente));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Suma un like al video de forma atómica, con el lock de lectura: los likes
+     * concurrentes no se esperan entre sí, y un video eliminado no vuelve a
+     * sumar al total ni al ranking después de quitarse.
+     * El nuevo total queda en memoria y se persiste en el próximo lote.
+     *
+     * @return copia del video con la cantidad de likes que produjo este incremento
+     */
+    @Override
+    public Optional<Video> incrementarLikes(String id) {
+        int likes;
+        Video residente;
+        lock.readLock().lock();
+        try {
+            residente = porId.get(VideoId.de(id));
+            if (residente == null) {
+                return Optional.empty();
+            }
+
+            likes = residente.agregarLike();
+            totalLikes.increment();
+            ranking.likeAgregado(residente, likes);
+            batcher.marcar(id, WriteBatcher.LIKES);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Video copia = copiar(residente);
+        copia.setLikes(likes);
+        return Optional.of(copia);
+    }
+
+    /**
+     * Alterna el estado de favorito directamente sobre el video residente,
+     * sin reemplazarlo (así no pisa likes concurrentes)
+     */
+    @Override
+    public Optional<Video> toggleFavorito(String id) {
+        lock.writeLock().lock();
+        try {
+            Video residente = videos.get(VideoId.de(id));
+            if (residente == null) {
+                return Optional.empty();
+            }
+
+            residente.toggleFavorito();
+            if (residente.isFavorito()) {
+                favoritos.agregar(residente);
+                totalFavoritos.increment();
+            } else {
+                favoritos.quitar(residente);
+                totalFavoritos.decrement();
+            }
+            batcher.marcar(id, WriteBatcher.FAVORITO);
+            return Optional.of(copiar(residente));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda un nuevo video
+     */
+    @Override
+    public Video save(Video video) {
+        lock.writeLock().lock();
+        try {
+            // Si el video ya existe, se reemplaza manteniendo su posición
+            Video anterior = desindexar(video.clave());
+            Video residente = copiar(video);
+            indexar(residente);
+            // Se registra el video recibido (igual al residente): el residente no arma el texto de su id
+            registrar(Mutacion.entre(anterior, video));
+            return video;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda varios videos con una única operación de persistencia
+     */
+    @Override
+    public void saveAll(Collection<Video> nuevos) {
+        if (nuevos.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<Mutacion> lote = new ArrayList<>(nuevos.size());
+            for (Video video : nuevos) {
+                Video anterior = desindexar(video.clave());
+                Video residente = copiar(video);
+                indexar(residente);
+                lote.add(Mutacion.entre(anterior, video));
+            }
+            persistence.registrarLote(lote, this::estadoActual);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un video por su ID
+     */
+    @Override
+    public boolean deleteById(String id) {
+        lock.writeLock().lock();
+        try {
+            VideoId clave = VideoId.de(id);
+            Video anterior = desindexar(clave);
+            if (anterior == null) {
+                return false;
+            }
+            videos.remove(clave);
+            porId.remove(clave);
+            batcher.descartar(id);
+            registrar(Mutacion.eliminar(id));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina varios videos registrando un único lote en la persistencia
+     */
+    @Override
+    public int deleteAllById(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            List<Mutacion> lote = new ArrayList<>();
+            for (String id : ids) {
+                VideoId clave = VideoId.de(id);
+                if (desindexar(clave) != null) {
+                    videos.remove(clave);
+                    porId.remove(clave);
+                    batcher.descartar(id);
+                    lote.add(Mutacion.eliminar(id));
+                }
+            }
+            persistence.registrarLote(lote, this::estadoActual);
+            return lote.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta el total de videos
+     */
+    @Override
+    public long count() {
+        return porId.size();
+    }
+
+    /**
+     * Cuenta los videos favoritos (contador mantenido, O(1))
+     */
+    @Override
+    public long countFavoritos() {
+        return totalFavoritos.sum();
+    }
+
+    /**
+     * Suma de likes de toda la playlist (contador mantenido, O(1))
+     */
+    @Override
+    public long sumLikes() {
+        return totalLikes.sum();
+    }
+
+    /**
+     * Obtiene todos los videos favoritos recorriendo solo su índice: O(favoritos)
+     */
+    @Override
+    public List<Video> findFavoritos() {
+        return favoritos.valores().stream()
+                .map(ResidentVideoRepository::copiar)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Página de favoritos por cursor, recorriendo solo el índice de favoritos
+     */
+    @Override
+    public VideoPage findFavoritosPage(String after, int limit) {
+        return aPagina(favoritos.pagina(buscarCursor(after), limit + 1), limit);
+    }
+
+    /**
+     * Obtiene los videos más populares (ordenados por likes)
+     * Se resuelve con el ranking incremental: O(limit), sin recorrer la playlist.
+     * A igual cantidad de likes, primero el video agregado antes
+     */
+    @Override
+    public List<Video> findTopByLikes(int limit) {
+        return ranking.top(limit, porId).stream()
+                .map(ResidentVideoRepository::copiar)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene una página de videos con paginación por cursor (keyset)
+     * Recorre el índice ordenado desde el cursor, sin materializar la playlist
+     *
+     * @param after id del último video de la página anterior, o null para la primera
+     * @throws IllegalArgumentException si el cursor no corresponde a un video existente
+     */
+    @Override
+    public VideoPage findPage(VideoSort orden, String after, int limit) {
+        Video cursor = buscarCursor(after);
+
+        // Se pide uno más para saber si hay página siguiente
+        List<Video> pagina = switch (orden) {
+            case FECHA -> porFecha.pagina(cursor, limit + 1);
+            case LIKES -> ranking.pagina(cursor, limit + 1, porId);
+            case ID -> porOrdenId.pagina(cursor, limit + 1);
+        };
+        return aPagina(pagina, limit);
+    }
+
+    /**
+     * El video residente del cursor, o null para la primera página
+     */
+    private Video buscarCursor(String after) {
+        if (after == null) {
+            return null;
+        }
+        Video cursor = porId.get(VideoId.de(after));
+        if (cursor == null) {
+            throw new IllegalArgumentException("Cursor inválido: no existe el video " + after);
+        }
+        return cursor;
+    }
+
+    /**
+     * Arma la página a partir de hasta limit + 1 videos: el sobrante indica que hay siguiente
+     */
+    private static VideoPage aPagina(List<Video> pagina, int limit) {
+        boolean hayMas = pagina.size() > limit;
+        List<Video> videosPagina = hayMas ? pagina.subList(0, limit) : pagina;
+        String siguiente = hayMas ? videosPagina.get(limit - 1).getId() : null;
+
+        return new VideoPage(videosPagina.stream()
+                .map(ResidentVideoRepository::copiar)
+                .collect(Collectors.toList()), siguiente);
+    }
+
+    /**
+     * Elimina todos los videos (útil para testing)
+     */
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            videos.clear();
+            porId.clear();
+            porYoutubeId.clear();
+            favoritos.vaciar();
+            ranking.vaciar();
+            porFecha.vaciar();
+            porOrdenId.vaciar();
+            totalLikes.reset();
+            totalFavoritos.reset();
+            batcher.descartarTodo();
+            registrar(Mutacion.vaciar());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega el video al almacén y a los índices secundarios.
+     * Si ya existía, conserva su posición en el orden de inserción.
+     */
+    private void indexar(Video video) {
+        // Un único VideoId compartido por los mapas
+        VideoId id = video.clave();
+        videos.put(id, video);
+        porId.put(id, video);
+        ranking.agregar(video);
+        porFecha.agregar(video);
+        porOrdenId.agregar(video);
+        String youtubeId = video.getVideoIdParaEmbed();
+        if (youtubeId != null) {
+            porYoutubeId.merge(youtubeId, new VideoId[] {id}, ResidentVideoRepository::concatenar);
+        }
+        totalLikes.add(video.getLikes());
+        if (video.isFavorito()) {
+            favoritos.agregar(video);
+            totalFavoritos.increment();
+        }
+    }
+
+    /**
+     * Quita el video de los índices secundarios y de los contadores
+     * (no del mapa principal)
+     */
+    private Video desindexar(VideoId id) {
+        Video anterior = videos.get(id);
+        if (anterior != null) {
+            ranking.quitar(anterior);
+            porFecha.quitar(anterior);
+            porOrdenId.quitar(anterior);
+            quitarDeYoutubeId(anterior);
+            totalLikes.add(-anterior.getLikes());
+            if (anterior.isFavorito()) {
+                favoritos.quitar(anterior);
+                totalFavoritos.decrement();
+            }
+        }
+        return anterior;
+    }
+
+    /**
+     * Quita el video del índice por id de YouTube (se invoca con el lock de escritura)
+     */
+    private void quitarDeYoutubeId(Video video) {
+        String youtubeId = video.getVideoIdParaEmbed();
+        if (youtubeId == null) {
+            return;
+        }
+        VideoId[] ids = porYoutubeId.get(youtubeId);
+        if (ids == null) {
+            return;
+        }
+        VideoId id = video.clave();
+        VideoId[] resto = Arrays.stream(ids).filter(otro -> !otro.equals(id)).toArray(VideoId[]::new);
+        if (resto.length == 0) {
+            porYoutubeId.remove(youtubeId);
+        } else {
+            porYoutubeId.put(youtubeId, resto);
+        }
+    }
+
+    private static VideoId[] concatenar(VideoId[] actuales, VideoId[] nuevos) {
+        VideoId[] todos = Arrays.copyOf(actuales, actuales.length + nuevos.length);
+        System.arraycopy(nuevos, 0, todos, actuales.length, nuevos.length);
+        return todos;
+    }
+
+    /**
+     * Copia defensiva: los videos residentes nunca salen del repositorio,
+     * así una modificación solo impacta al invocar save()
+     */
+    private static Video copiar(Video video) {
+        return new Video(video);
+    }
+
+    /**
+     * Los videos y sus índices están en memoria: salvo findAll, las lecturas no toman locks
+     */
+    @Override
+    public boolean lecturasNoBloqueantes() {
+        return true;
+    }
+
+    /**
+     * Métricas del agrupador de escrituras de likes y favoritos
+     */
+    @Override
+    public WriteBatcherMetrics getMetricasEscritura() {
+        return batcher.metricas();
+    }
+
+    /**
+     * Persiste como un solo lote el valor actual de likes/favorito de cada video
+     * (lo invoca el {@link WriteBatcher})
+     */
+    private void persistirLote(Map<String, Integer> cambios) {
+        lock.writeLock().lock();
+        try {
+            List<Mutacion> lote = new ArrayList<>();
+            cambios.forEach((id, cambio) -> {
+                Video residente = videos.get(VideoId.de(id));
+                if (residente == null) {
+                    return;
+                }
+                if ((cambio & WriteBatcher.LIKES) != 0) {
+                    lote.add(Mutacion.likes(id, residente.getLikes()));
+                }
+                if ((cambio & WriteBatcher.FAVORITO) != 0) {
+                    lote.add(Mutacion.favorito(id, residente.isFavorito()));
+                }
+            });
+            persistence.registrarLote(lote, this::estadoActual);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Persiste una mutación ya aplicada en memoria (se invoca con el lock de escritura)
+     */
+    private void registrar(Mutacion mutacion) {
+        persistence.registrar(mutacion, this::estadoActual);
+    }
+
+    private Collection<Video> estadoActual() {
+        return videos.values();
+    }
+}
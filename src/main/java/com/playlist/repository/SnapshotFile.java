@@ -0,0 +1,119 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Snapshot completo de la playlist (videos.json o videos.bin según el {@link VideoCodec})
+ *
+ * Las escrituras nunca truncan el archivo vigente: se escribe un archivo
+ * temporal hermano, se fuerza a disco y se renombra atómicamente encima.
+ * Un crash o un lector concurrente ven el snapshot anterior o el nuevo, nunca
+ * uno vacío o a medias.
+ */
+class SnapshotFile {
+
+    private final VideoCodec codec;
+    private final Path path;
+    private final Path tempPath;
+
+    SnapshotFile(Path path) {
+        this(path, new JsonVideoCodec());
+    }
+
+    SnapshotFile(Path path, VideoCodec codec) {
+        this.codec = codec;
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Crea el archivo vacío (y sus directorios) si no existe
+     */
+    void inicializar() {
+        try {
+            // Restos de una escritura interrumpida: el snapshot vigente sigue intacto
+            Files.deleteIfExists(tempPath);
+            if (!Files.exists(path)) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                escribir(new ArrayList<>());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al inicializar archivo de datos", e);
+        }
+    }
+
+    /**
+     * Lee todos los videos del snapshot
+     */
+    List<Video> leer() {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return codec.leer(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer archivo de datos", e);
+        }
+    }
+
+    /**
+     * Reescribe el snapshot con todos los videos (temporal + fsync + rename atómico)
+     */
+    void escribir(Collection<Video> videos) {
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            codec.escribir(videos, out);
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al guardar videos", e);
+        }
+        reemplazarAtomicamente();
+    }
+
+    private void reemplazarAtomicamente() {
+        try {
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al reemplazar el snapshot de videos", e);
+        }
+        sincronizarDirectorio();
+    }
+
+    /**
+     * Fuerza a disco la entrada de directorio del rename (no soportado en todos los SO)
+     */
+    private void sincronizarDirectorio() {
+        Path directorio = path.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows no permite abrir directorios: el rename ya es durable allí
+        }
+    }
+}
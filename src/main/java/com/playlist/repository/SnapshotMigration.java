@@ -0,0 +1,41 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversión del snapshot de la playlist entre formatos de almacenamiento
+ */
+public final class SnapshotMigration {
+
+    private SnapshotMigration() {
+    }
+
+    /**
+     * Lee el snapshot de origen (reproduciendo y compactando su log de mutaciones,
+     * si lo tiene) y lo escribe en el destino con el formato indicado.
+     * La aplicación no debe estar usando el archivo de origen.
+     *
+     * @return cantidad de videos migrados
+     */
+    public static int migrar(Path origen, StorageFormat formatoOrigen,
+                             Path destino, StorageFormat formatoDestino) {
+        List<Video> videos;
+        try (JournalPersistence journal = new JournalPersistence(
+                new SnapshotFile(origen, formatoOrigen.codec()), 1, DurabilityPolicy.SYNC, 0)) {
+            videos = journal.cargar(ArrayList::new);
+        }
+        new SnapshotFile(destino, formatoDestino.codec()).escribir(videos);
+        return videos.size();
+    }
+
+    /**
+     * Formato según la extensión del archivo: .bin es binario, el resto JSON
+     */
+    public static StorageFormat formatoDe(Path archivo) {
+        return archivo.getFileName().toString().endsWith(".bin") ? StorageFormat.BINARY : StorageFormat.JSON;
+    }
+}
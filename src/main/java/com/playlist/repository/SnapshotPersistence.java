@@ -0,0 +1,87 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Persistencia por snapshot: reescribe videos.json completo
+ *
+ * Con {@link DurabilityPolicy#SYNC} se reescribe en cada mutación. Con
+ * GROUP_COMMIT o ASYNC la mutación solo marca el estado como pendiente y un
+ * hilo en segundo plano reescribe una vez por intervalo, agrupando los cambios.
+ */
+class SnapshotPersistence implements VideoPersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotPersistence.class);
+
+    private final SnapshotFile snapshot;
+    private final DurabilityPolicy durability;
+    private final long intervaloMs;
+    private final AtomicBoolean pendiente = new AtomicBoolean();
+
+    private ScheduledExecutorService escritor;
+    private Supplier<List<Video>> copiaDelEstado;
+
+    SnapshotPersistence(SnapshotFile snapshot, DurabilityPolicy durability, long intervaloMs) {
+        this.snapshot = snapshot;
+        this.durability = durability;
+        this.intervaloMs = intervaloMs;
+    }
+
+    @Override
+    public List<Video> cargar(Supplier<List<Video>> copiaDelEstado) {
+        this.copiaDelEstado = copiaDelEstado;
+        snapshot.inicializar();
+        if (durability != DurabilityPolicy.SYNC) {
+            escritor = Executors.newSingleThreadScheduledExecutor(
+                    PersistenceThreads.daemon("snapshot-writer"));
+            escritor.scheduleWithFixedDelay(this::escribirPendiente,
+                    intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+        return snapshot.leer();
+    }
+
+    @Override
+    public void registrar(Mutacion mutacion, Supplier<Collection<Video>> estado) {
+        if (durability == DurabilityPolicy.SYNC) {
+            snapshot.escribir(estado.get());
+        } else {
+            pendiente.set(true);
+        }
+    }
+
+    @Override
+    public void registrarLote(List<Mutacion> mutaciones, Supplier<Collection<Video>> estado) {
+        if (!mutaciones.isEmpty()) {
+            registrar(mutaciones.get(mutaciones.size() - 1), estado);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (escritor != null) {
+            PersistenceThreads.detener(escritor);
+            escribirPendiente();
+        }
+    }
+
+    private void escribirPendiente() {
+        if (pendiente.getAndSet(false)) {
+            try {
+                snapshot.escribir(copiaDelEstado.get());
+            } catch (RuntimeException e) {
+                pendiente.set(true);
+                log.error("Error al escribir el snapshot en segundo plano", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.playlist.repository;
+
+/**
+ * Formatos disponibles para el snapshot de la playlist
+ */
+public enum StorageFormat {
+
+    /**
+     * JSON legible (videos.json), también útil para importar/exportar
+     */
+    JSON {
+        @Override
+        public VideoCodec codec() {
+            return new JsonVideoCodec();
+        }
+    },
+
+    /**
+     * Binario compacto (videos.bin): más chico y rápido de cargar y guardar
+     */
+    BINARY {
+        @Override
+        public VideoCodec codec() {
+            return new BinaryVideoCodec();
+        }
+    };
+
+    public abstract VideoCodec codec();
+}
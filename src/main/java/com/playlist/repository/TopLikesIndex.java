@@ -0,0 +1,98 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranking de videos por likes, mantenido de forma incremental
+ *
+ * Cada video tiene una entrada (likes, video) en una skip list
+ * ordenada por likes descendente; a igual cantidad de likes gana el video más
+ * antiguo, y luego el id, así el orden es estable. Leer el top N recorre solo
+ * las primeras N entradas, sin tocar el resto de la playlist.
+ *
+ * Los likes se actualizan sin locks: quien produce el total k agrega la
+ * entrada k y quita la k - 1. Si dos likes se cruzan puede quedar una entrada
+ * desactualizada; las lecturas la detectan (no coincide con el video residente)
+ * y la eliminan al pasar.
+ */
+class TopLikesIndex {
+
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparingInt(Entrada::likes).reversed()
+            .thenComparing(Entrada::video, FechaIndex.ORDEN);
+
+    private final ConcurrentSkipListSet<Entrada> ranking = new ConcurrentSkipListSet<>(ORDEN);
+
+    // La fecha y el id se leen del video: no cambian mientras está indexado
+    private record Entrada(int likes, Video video) {
+
+        static Entrada de(Video video, int likes) {
+            return new Entrada(likes, video);
+        }
+    }
+
+    void agregar(Video video) {
+        ranking.add(Entrada.de(video, video.getLikes()));
+    }
+
+    void quitar(Video video) {
+        ranking.remove(Entrada.de(video, video.getLikes()));
+    }
+
+    /**
+     * Mueve el video a su nueva posición tras el like que produjo "likes".
+     * Se agrega antes de quitar para que el video nunca desaparezca del ranking
+     */
+    void likeAgregado(Video video, int likes) {
+        ranking.add(Entrada.de(video, likes));
+        ranking.remove(Entrada.de(video, likes - 1));
+    }
+
+    void vaciar() {
+        ranking.clear();
+    }
+
+    /**
+     * Los primeros "limite" videos residentes, en orden de ranking
+     *
+     * @param residentes id -> video residente, para descartar entradas desactualizadas
+     */
+    List<Video> top(int limite, Map<VideoId, Video> residentes) {
+        return recorrer(ranking, limite, residentes);
+    }
+
+    /**
+     * Hasta "limite" videos ubicados después de "despuesDe" en el ranking (paginación por cursor)
+     */
+    List<Video> pagina(Video despuesDe, int limite, Map<VideoId, Video> residentes) {
+        if (despuesDe == null) {
+            return top(limite, residentes);
+        }
+        return recorrer(ranking.tailSet(Entrada.de(despuesDe, despuesDe.getLikes()), false),
+                limite, residentes);
+    }
+
+    private List<Video> recorrer(NavigableSet<Entrada> entradas, int limite, Map<VideoId, Video> residentes) {
+        List<Video> videos = new ArrayList<>(limite);
+        Iterator<Entrada> it = entradas.iterator();
+        while (videos.size() < limite && it.hasNext()) {
+            Entrada entrada = it.next();
+            Video residente = residentes.get(entrada.video().clave());
+            if (residente == entrada.video() && residente.getLikes() == entrada.likes()) {
+                videos.add(residente);
+            } else if (residente != entrada.video() || residente.getLikes() > entrada.likes()) {
+                it.remove();
+            }
+        }
+        return videos;
+    }
+}
@@ -0,0 +1,19 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Formato de serialización del snapshot de la playlist
+ */
+public interface VideoCodec {
+
+    void escribir(Collection<Video> videos, OutputStream out) throws IOException;
+
+    List<Video> leer(InputStream in) throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.util.List;
+
+/**
+ * Página de videos obtenida con paginación por cursor (keyset)
+ */
+public class VideoPage {
+
+    private final List<Video> videos;
+    private final String siguiente;
+
+    public VideoPage(List<Video> videos, String siguiente) {
+        this.videos = videos;
+        this.siguiente = siguiente;
+    }
+
+    public List<Video> getVideos() {
+        return videos;
+    }
+
+    /**
+     * Cursor para pedir la página siguiente (?after=), o null si es la última
+     */
+    public String getSiguiente() {
+        return siguiente;
+    }
+}
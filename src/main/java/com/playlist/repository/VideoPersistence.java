@@ -0,0 +1,39 @@
+package com.playlist.repository;
+
+import com.playlist.model.Video;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Estrategia de persistencia durable detrás del almacén en memoria
+ */
+interface VideoPersistence extends Closeable {
+
+    /**
+     * Carga el estado persistido (se invoca una vez al iniciar).
+     * "copiaDelEstado" entrega una copia consistente del estado en memoria,
+     * para las escrituras que la estrategia haga en segundo plano
+     */
+    List<Video> cargar(Supplier<List<Video>> copiaDelEstado);
+
+    /**
+     * Registra una mutación ya aplicada en memoria.
+     * "estado" entrega el contenido completo actual por si la estrategia lo necesita
+     */
+    void registrar(Mutacion mutacion, Supplier<Collection<Video>> estado);
+
+    /**
+     * Registra varias mutaciones como una única operación de persistencia
+     */
+    default void registrarLote(List<Mutacion> mutaciones, Supplier<Collection<Video>> estado) {
+        for (Mutacion mutacion : mutaciones) {
+            registrar(mutacion, estado);
+        }
+    }
+
+    @Override
+    void close();
+}
@@ -1,162 +1,146 @@
 package com.playlist.repository;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 import com.playlist.model.Video;
-import org.springframework.stereotype.Repository;
-
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.lang.reflect.Type;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Repositorio para persistir videos en formato JSON
+ * Repositorio de videos de la playlist
  * Aplica el patrón Repository para encapsular la lógica de persistencia
+ *
+ * La implementación se elige con playlist.repository.type:
+ * <ul>
+ *   <li>file: videos residentes en memoria con copia durable en archivo ({@link FileVideoRepository})</li>
+ *   <li>jdbc: base de datos H2 embebida con índices ({@link JdbcVideoRepository})</li>
+ *   <li>memory: solo en memoria, sin persistencia ({@link InMemoryVideoRepository})</li>
+ * </ul>
+ *
+ * Los videos devueltos son copias: modificarlos no altera el repositorio hasta invocar save().
  */
-@Repository
-public class VideoRepository {
-
-    private static final String DATA_FILE = "src/main/resources/data/videos.json";
-    private final Gson gson;
-    private final Path dataFilePath;
-
-    public VideoRepository() {
-        this.gson = new GsonBuilder()
-                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                .setPrettyPrinting()
-                .create();
-        this.dataFilePath = Paths.get(DATA_FILE);
-        inicializarArchivo();
-    }
+public interface VideoRepository {
 
     /**
-     * Inicializa el archivo JSON si no existe
+     * Obtiene todos los videos, en orden de inserción
      */
-    private void inicializarArchivo() {
-        try {
-            if (!Files.exists(dataFilePath)) {
-                Files.createDirectories(dataFilePath.getParent());
-                guardarTodos(new ArrayList<>());
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Error al inicializar archivo de datos", e);
-        }
-    }
+    List<Video> findAll();
 
     /**
-     * Obtiene todos los videos
+     * Recorre todos los videos en orden de fecha sin materializar la lista completa.
+     * Debe cerrarse al terminar (try-with-resources)
      */
-    public List<Video> findAll() {
-        try (FileReader reader = new FileReader(DATA_FILE)) {
-            Type listType = new TypeToken<ArrayList<Video>>(){}.getType();
-            List<Video> videos = gson.fromJson(reader, listType);
-            return videos != null ? videos : new ArrayList<>();
-        } catch (IOException e) {
-            return new ArrayList<>();
-        }
-    }
+    Stream<Video> streamAll();
 
     /**
      * Busca un video por su ID
      */
-    public Optional<Video> findById(String id) {
-        return findAll().stream()
-                .filter(video -> video.getId().equals(id))
-                .findFirst();
-    }
+    Optional<Video> findById(String id);
 
     /**
-     * Guarda un nuevo video
+     * Busca un video por el id de YouTube de su link (ver {@link Video#getVideoIdParaEmbed()})
+     * Se resuelve con un índice hash mantenido en cada escritura: O(1).
+     * Si hay varios videos con el mismo id de YouTube, devuelve cualquiera de ellos
      */
-    public Video save(Video video) {
-        List<Video> videos = findAll();
+    Optional<Video> findByYoutubeId(String youtubeId);
 
-        // Si el video ya existe, actualizarlo
-        Optional<Video> existente = videos.stream()
-                .filter(v -> v.getId().equals(video.getId()))
-                .findFirst();
+    /**
+     * Suma un like al video de forma atómica
+     *
+     * @return copia del video con la cantidad de likes que produjo este incremento
+     */
+    Optional<Video> incrementarLikes(String id);
 
-        if (existente.isPresent()) {
-            videos = videos.stream()
-                    .map(v -> v.getId().equals(video.getId()) ? video : v)
-                    .collect(Collectors.toList());
-        } else {
-            videos.add(video);
-        }
+    /**
+     * Alterna el estado de favorito del video sin pisar likes concurrentes
+     */
+    Optional<Video> toggleFavorito(String id);
 
-        guardarTodos(videos);
-        return video;
-    }
+    /**
+     * Guarda un video nuevo o reemplaza uno existente
+     */
+    Video save(Video video);
+
+    /**
+     * Guarda varios videos con una única operación de persistencia
+     */
+    void saveAll(Collection<Video> videos);
 
     /**
      * Elimina un video por su ID
      */
-    public boolean deleteById(String id) {
-        List<Video> videos = findAll();
-        int sizeBefore = videos.size();
+    boolean deleteById(String id);
 
-        videos = videos.stream()
-                .filter(video -> !video.getId().equals(id))
-                .collect(Collectors.toList());
+    /**
+     * Elimina varios videos con una única operación de persistencia
+     *
+     * @return cantidad de videos eliminados
+     */
+    int deleteAllById(Collection<String> ids);
 
-        if (videos.size() < sizeBefore) {
-            guardarTodos(videos);
-            return true;
-        }
-        return false;
-    }
+    /**
+     * Elimina todos los videos (útil para testing)
+     */
+    void deleteAll();
 
     /**
      * Cuenta el total de videos
      */
-    public long count() {
-        return findAll().size();
-    }
+    long count();
 
     /**
-     * Obtiene todos los videos favoritos
+     * Cuenta los videos favoritos
      */
-    public List<Video> findFavoritos() {
-        return findAll().stream()
-                .filter(Video::isFavorito)
-                .collect(Collectors.toList());
-    }
+    long countFavoritos();
+
+    /**
+     * Suma de likes de toda la playlist
+     */
+    long sumLikes();
+
+    /**
+     * Obtiene todos los videos favoritos, ordenados por fecha de agregado
+     */
+    List<Video> findFavoritos();
+
+    /**
+     * Obtiene una página de favoritos (orden por fecha de agregado) con paginación por cursor
+     *
+     * @param after id del último video de la página anterior, o null para la primera
+     * @throws IllegalArgumentException si el cursor no corresponde a un video existente
+     */
+    VideoPage findFavoritosPage(String after, int limit);
 
     /**
      * Obtiene los videos más populares (ordenados por likes)
+     * A igual cantidad de likes, primero el video agregado antes
      */
-    public List<Video> findTopByLikes(int limit) {
-        return findAll().stream()
-                .sorted((v1, v2) -> Integer.compare(v2.getLikes(), v1.getLikes()))
-                .limit(limit)
-                .collect(Collectors.toList());
-    }
+    List<Video> findTopByLikes(int limit);
 
     /**
-     * Guarda todos los videos en el archivo JSON
+     * Obtiene una página de videos con paginación por cursor (keyset)
+     *
+     * @param after id del último video de la página anterior, o null para la primera
+     * @throws IllegalArgumentException si el cursor no corresponde a un video existente
      */
-    private void guardarTodos(List<Video> videos) {
-        try (FileWriter writer = new FileWriter(DATA_FILE)) {
-            gson.toJson(videos, writer);
-        } catch (IOException e) {
-            throw new RuntimeException("Error al guardar videos", e);
-        }
-    }
+    VideoPage findPage(VideoSort orden, String after, int limit);
 
     /**
-     * Elimina todos los videos (útil para testing)
+     * Indica si las lecturas (salvo findAll) se resuelven en memoria sin bloquear,
+     * así la API reactiva puede ejecutarlas en el event loop
      */
-    public void deleteAll() {
-        guardarTodos(new ArrayList<>());
+    default boolean lecturasNoBloqueantes() {
+        return false;
     }
+
+    /**
+     * Métricas de las escrituras agrupadas de likes y favoritos
+     */
+    WriteBatcherMetrics getMetricasEscritura();
+
+    /**
+     * Libera los recursos de la persistencia al detener la aplicación
+     */
+    void close();
 }
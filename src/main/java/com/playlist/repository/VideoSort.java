@@ -0,0 +1,37 @@
+package com.playlist.repository;
+
+/**
+ * Criterios de orden para recorrer la playlist por páginas
+ */
+public enum VideoSort {
+
+    /**
+     * Por fecha de agregado, del más antiguo al más reciente
+     */
+    FECHA,
+
+    /**
+     * Por likes, del más votado al menos votado (a igual likes, el más antiguo primero)
+     */
+    LIKES,
+
+    /**
+     * Por id. Con los ids UUIDv7 (ordenados por tiempo) coincide con el orden de
+     * inserción; los ids UUIDv4 anteriores quedan intercalados según su valor
+     */
+    ID;
+
+    /**
+     * Convierte el parámetro de la API ("fecha", "likes", "id") sin distinguir mayúsculas
+     */
+    public static VideoSort desde(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return FECHA;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Orden no soportado: " + valor + " (usar fecha, likes o id)");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.playlist.repository;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Adaptador de Gson para Video: escribe y lee el mismo JSON que la serialización
+ * por campos original (id, nombre, link, likes, favorito, fechaAgregado), aunque
+ * en memoria el video use una representación compacta
+ */
+public class VideoTypeAdapter extends TypeAdapter<Video> {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @Override
+    public void write(JsonWriter out, Video video) throws IOException {
+        if (video == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        // El texto del id se arma sin guardarlo en el video (los residentes no lo retienen)
+        VideoId id = video.clave();
+        escribirSiNoEsNulo(out, "id", id != null ? id.toString() : null);
+        escribirSiNoEsNulo(out, "nombre", video.getNombre());
+        escribirSiNoEsNulo(out, "link", video.getLink());
+        out.name("likes").value(video.getLikes());
+        out.name("favorito").value(video.isFavorito());
+        LocalDateTime fecha = video.getFechaAgregado();
+        if (fecha != null) {
+            out.name("fechaAgregado").value(fecha.format(formatter));
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Video read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Video video = new Video();
+        in.beginObject();
+        while (in.hasNext()) {
+            String campo = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (campo) {
+                case "id" -> video.setId(in.nextString());
+                case "nombre" -> video.setNombre(in.nextString());
+                case "link" -> video.setLink(in.nextString());
+                case "likes" -> video.setLikes(in.nextInt());
+                case "favorito" -> video.setFavorito(in.nextBoolean());
+                case "fechaAgregado" -> video.setFechaAgregado(LocalDateTime.parse(in.nextString(), formatter));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return video;
+    }
+
+    private static void escribirSiNoEsNulo(JsonWriter out, String campo, String valor) throws IOException {
+        if (valor != null) {
+            out.name(campo).value(valor);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.playlist.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Etapa de agrupación de escrituras entre el almacén en memoria y la persistencia
+ *
+ * Los likes y los cambios de favorito ya se aplicaron en memoria (los
+ * llamadores reciben el valor al día); acá solo se anota qué video tiene
+ * cambios sin persistir. Varias marcas sobre el mismo video se fusionan en
+ * una sola, y el lote se vuelca con una única operación de persistencia
+ * cuando vence la ventana o se alcanza el tamaño máximo, lo que ocurra primero.
+ */
+class WriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBatcher.class);
+
+    // Qué cambió en cada video pendiente (máscara de bits)
+    static final int LIKES = 1;
+    static final int FAVORITO = 2;
+
+    private final Map<String, Integer> pendientes = new ConcurrentHashMap<>();
+    private final Consumer<Map<String, Integer>> persistir;
+    private final int tamanioMaximo;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean flushProgramado = new AtomicBoolean();
+
+    // Métricas
+    private final LongAdder marcas = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder escrituras = new LongAdder();
+    private final LongAdder latenciaTotalNanos = new LongAdder();
+    private final LongAccumulator loteMaximo = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator latenciaMaximaNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong ultimoLote = new AtomicLong();
+    private final AtomicLong ultimaLatenciaNanos = new AtomicLong();
+
+    /**
+     * @param persistir recibe id -> máscara de cambios y los persiste en una sola operación
+     */
+    WriteBatcher(Consumer<Map<String, Integer>> persistir, long ventanaMs, int tamanioMaximo) {
+        this.persistir = persistir;
+        this.tamanioMaximo = tamanioMaximo;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                PersistenceThreads.daemon("write-batcher"));
+        executor.scheduleWithFixedDelay(this::flush, ventanaMs, ventanaMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Anota un cambio pendiente del video; se fusiona con los ya anotados
+     */
+    void marcar(String id, int cambio) {
+        pendientes.merge(id, cambio, (actual, nuevo) -> actual | nuevo);
+        marcas.increment();
+
+        if (pendientes.size() >= tamanioMaximo && flushProgramado.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Descarta los cambios pendientes del video (por ejemplo, si se eliminó)
+     */
+    void descartar(String id) {
+        pendientes.remove(id);
+    }
+
+    void descartarTodo() {
+        pendientes.clear();
+    }
+
+    /**
+     * Vuelca los cambios pendientes como un único lote.
+     * Solo se ejecuta en el hilo del batcher (o al cerrar), nunca en paralelo
+     */
+    void flush() {
+        flushProgramado.set(false);
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> lote = new HashMap<>();
+        for (String id : pendientes.keySet()) {
+            // Se quita antes de leer el valor en memoria: un cambio posterior lo vuelve a marcar
+            Integer cambio = pendientes.remove(id);
+            if (cambio != null) {
+                lote.put(id, cambio);
+            }
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            persistir.accept(lote);
+        } catch (RuntimeException e) {
+            lote.forEach((id, cambio) -> pendientes.merge(id, cambio, (actual, nuevo) -> actual | nuevo));
+            log.error("Error al persistir un lote de {} videos", lote.size(), e);
+            return;
+        }
+        registrarMetricas(lote.size(), System.nanoTime() - inicio);
+    }
+
+    /**
+     * Detiene el hilo del batcher y vuelca lo que quede pendiente
+     */
+    void close() {
+        PersistenceThreads.detener(executor);
+        flush();
+    }
+
+    private void registrarMetricas(int tamanio, long latenciaNanos) {
+        lotes.increment();
+        escrituras.add(tamanio);
+        latenciaTotalNanos.add(latenciaNanos);
+        loteMaximo.accumulate(tamanio);
+        latenciaMaximaNanos.accumulate(latenciaNanos);
+        ultimoLote.set(tamanio);
+        ultimaLatenciaNanos.set(latenciaNanos);
+    }
+
+    WriteBatcherMetrics metricas() {
+        long totalLotes = lotes.sum();
+        long totalEscrituras = escrituras.sum();
+        return new WriteBatcherMetrics(
+                pendientes.size(),
+                marcas.sum(),
+                totalLotes,
+                totalEscrituras,
+                ultimoLote.get(),
+                totalLotes == 0 ? 0 : (double) totalEscrituras / totalLotes,
+                loteMaximo.get(),
+                nanosAMs(ultimaLatenciaNanos.get()),
+                totalLotes == 0 ? 0 : nanosAMs(latenciaTotalNanos.sum()) / totalLotes,
+                nanosAMs(latenciaMaximaNanos.get()));
+    }
+
+    private static double nanosAMs(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.playlist.repository;
+
+/**
+ * Métricas del agrupador de escrituras (tamaño de lotes, latencia de flush y cola)
+ */
+public class WriteBatcherMetrics {
+
+    private final long profundidadCola;
+    private final long cambiosRecibidos;
+    private final long lotesEscritos;
+    private final long videosEscritos;
+    private final long ultimoLote;
+    private final double promedioLote;
+    private final long maximoLote;
+    private final double ultimaLatenciaFlushMs;
+    private final double promedioLatenciaFlushMs;
+    private final double maximaLatenciaFlushMs;
+
+    public WriteBatcherMetrics(long profundidadCola, long cambiosRecibidos, long lotesEscritos,
+                               long videosEscritos, long ultimoLote, double promedioLote, long maximoLote,
+                               double ultimaLatenciaFlushMs, double promedioLatenciaFlushMs,
+                               double maximaLatenciaFlushMs) {
+        this.profundidadCola = profundidadCola;
+        this.cambiosRecibidos = cambiosRecibidos;
+        this.lotesEscritos = lotesEscritos;
+        this.videosEscritos = videosEscritos;
+        this.ultimoLote = ultimoLote;
+        this.promedioLote = promedioLote;
+        this.maximoLote = maximoLote;
+        this.ultimaLatenciaFlushMs = ultimaLatenciaFlushMs;
+        this.promedioLatenciaFlushMs = promedioLatenciaFlushMs;
+        this.maximaLatenciaFlushMs = maximaLatenciaFlushMs;
+    }
+
+    /**
+     * Videos con cambios aún no persistidos
+     */
+    public long getProfundidadCola() {
+        return profundidadCola;
+    }
+
+    /**
+     * Cambios recibidos (likes y favoritos), antes de fusionarse por video
+     */
+    public long getCambiosRecibidos() {
+        return cambiosRecibidos;
+    }
+
+    public long getLotesEscritos() {
+        return lotesEscritos;
+    }
+
+    /**
+     * Videos escritos en total, sumando todos los lotes
+     */
+    public long getVideosEscritos() {
+        return videosEscritos;
+    }
+
+    public long getUltimoLote() {
+        return ultimoLote;
+    }
+
+    public double getPromedioLote() {
+        return promedioLote;
+    }
+
+    public long getMaximoLote() {
+        return maximoLote;
+    }
+
+    public double getUltimaLatenciaFlushMs() {
+        return ultimaLatenciaFlushMs;
+    }
+
+    public double getPromedioLatenciaFlushMs() {
+        return promedioLatenciaFlushMs;
+    }
+
+    public double getMaximaLatenciaFlushMs() {
+        return maximaLatenciaFlushMs;
+    }
+}
@@ -0,0 +1,23 @@
+package com.playlist.service;
+
+/**
+ * Resultado de la deduplicación de la playlist
+ */
+public class DedupResult {
+
+    private final int revisados;
+    private final int eliminados;
+
+    public DedupResult(int revisados, int eliminados) {
+        this.revisados = revisados;
+        this.eliminados = eliminados;
+    }
+
+    public int getRevisados() {
+        return revisados;
+    }
+
+    public int getEliminados() {
+        return eliminados;
+    }
+}
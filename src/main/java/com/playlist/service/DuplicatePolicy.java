@@ -0,0 +1,23 @@
+package com.playlist.service;
+
+/**
+ * Qué hacer al agregar un video cuyo id de YouTube ya está en la playlist
+ */
+public enum DuplicatePolicy {
+
+    /**
+     * Se rechaza el video (error de validación); en la importación la fila se informa como error
+     */
+    REJECT,
+
+    /**
+     * No se crea un video nuevo: se devuelve el existente.
+     * En la importación la fila se cuenta como duplicada pero no como error
+     */
+    MERGE,
+
+    /**
+     * Se guarda igual, con un id propio (comportamiento original)
+     */
+    ALLOW
+}
@@ -0,0 +1,17 @@
+package com.playlist.service;
+
+/**
+ * Formatos aceptados por la importación masiva de videos
+ */
+public enum ImportFormat {
+
+    /**
+     * Un objeto JSON por línea: {"nombre": "...", "link": "..."}
+     */
+    NDJSON,
+
+    /**
+     * Una fila por línea: nombre,link (encabezado opcional, comillas dobles como en RFC 4180)
+     */
+    CSV
+}
@@ -0,0 +1,133 @@
+package com.playlist.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.playlist.model.Video;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee las filas de una importación masiva (NDJSON o CSV)
+ * Solo interpreta el formato: la validación de los datos la hace el servicio
+ */
+final class ImportParser {
+
+    private final BufferedReader lector;
+    private final ImportFormat formato;
+    private int numero;
+    private boolean terminado;
+
+    ImportParser(Reader reader, ImportFormat formato) {
+        this.lector = new BufferedReader(reader);
+        this.formato = formato;
+    }
+
+    /**
+     * Una fila leída; "error" queda cargado si no se pudo interpretar o validar
+     */
+    static final class Fila {
+        final int numero;
+        final String nombre;
+        final String link;
+        String error;
+        Video video;
+
+        Fila(int numero, String nombre, String link, String error) {
+            this.numero = numero;
+            this.nombre = nombre;
+            this.link = link;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Lee hasta "maximo" filas más; vacío al llegar al final del flujo
+     * Así la importación no necesita tener el archivo entero en memoria
+     */
+    List<Fila> leerLote(int maximo) throws IOException {
+        List<Fila> filas = new ArrayList<>(maximo);
+        String linea;
+        while (!terminado && filas.size() < maximo) {
+            if ((linea = lector.readLine()) == null) {
+                terminado = true;
+                break;
+            }
+            numero++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            if (formato == ImportFormat.CSV && numero == 1 && esEncabezadoCsv(linea)) {
+                continue;
+            }
+            filas.add(formato == ImportFormat.NDJSON ? leerNdjson(numero, linea) : leerCsv(numero, linea));
+        }
+        return filas;
+    }
+
+    private static Fila leerNdjson(int numero, String linea) {
+        try {
+            JsonElement elemento = JsonParser.parseString(linea);
+            if (!elemento.isJsonObject()) {
+                return new Fila(numero, null, null, "Se esperaba un objeto JSON");
+            }
+            JsonObject objeto = elemento.getAsJsonObject();
+            return new Fila(numero, texto(objeto, "nombre"), texto(objeto, "link"), null);
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            return new Fila(numero, null, null, "JSON inválido");
+        }
+    }
+
+    private static String texto(JsonObject objeto, String campo) {
+        JsonElement valor = objeto.get(campo);
+        return valor == null || valor.isJsonNull() ? null : valor.getAsString();
+    }
+
+    private static boolean esEncabezadoCsv(String linea) {
+        return linea.trim().toLowerCase().replace("\"", "").startsWith("nombre,");
+    }
+
+    /**
+     * Separa "nombre,link" respetando comillas dobles ("" es una comilla escapada)
+     */
+    private static Fila leerCsv(int numero, String linea) {
+        List<String> columnas = new ArrayList<>(2);
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                columnas.add(actual.toString().trim());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        columnas.add(actual.toString().trim());
+
+        if (entreComillas) {
+            return new Fila(numero, null, null, "Comillas sin cerrar");
+        }
+        if (columnas.size() != 2) {
+            return new Fila(numero, null, null, "Se esperaban 2 columnas (nombre,link) y hay " + columnas.size());
+        }
+        return new Fila(numero, columnas.get(0), columnas.get(1), null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.playlist.service;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva, con el detalle de las filas rechazadas
+ */
+public class ImportResult {
+
+    private final int totalFilas;
+    private final int importados;
+    private final int duplicados;
+    private final List<ErrorFila> errores;
+
+    public ImportResult(int totalFilas, int importados, int duplicados, List<ErrorFila> errores) {
+        this.totalFilas = totalFilas;
+        this.importados = importados;
+        this.duplicados = duplicados;
+        this.errores = errores;
+    }
+
+    public int getTotalFilas() {
+        return totalFilas;
+    }
+
+    public int getImportados() {
+        return importados;
+    }
+
+    public int getDuplicados() {
+        return duplicados;
+    }
+
+    /**
+     * Filas no importadas (inválidas o duplicadas), en orden de aparición
+     */
+    public List<ErrorFila> getErrores() {
+        return errores;
+    }
+
+    /**
+     * Motivo por el que no se importó una fila
+     */
+    public static class ErrorFila {
+        private final int fila;
+        private final String mensaje;
+
+        public ErrorFila(int fila, String mensaje) {
+            this.fila = fila;
+            this.mensaje = mensaje;
+        }
+
+        public int getFila() {
+            return fila;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.playlist.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Control de concurrencia de las mutaciones de {@link VideoService}
+ *
+ * Un cambio sobre un video existente (like, favorito, eliminar) toma el lock de
+ * la franja de su id y comparte el carril global con los cambios sobre otros
+ * videos: videos distintos se modifican en paralelo, y los cambios de un mismo
+ * video se aplican de a uno, junto con su actualización del índice de búsqueda
+ * y su evento, así ambos quedan en el orden del repositorio.
+ *
+ * Los cambios estructurales (agregar, importar, deduplicar) leen la playlist
+ * para decidir qué escribir (duplicados), así que toman el carril global en
+ * exclusiva: nada se modifica entre la lectura y la escritura.
+ *
+ * Nunca se toman dos franjas a la vez, así no hay orden de adquisición que respetar.
+ */
+final class MutationLocks {
+
+    // Potencia de 2, para elegir la franja con una máscara
+    private static final int FRANJAS = 64;
+
+    private final ReentrantReadWriteLock carril = new ReentrantReadWriteLock();
+    private final ReentrantLock[] franjas = new ReentrantLock[FRANJAS];
+
+    MutationLocks() {
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Aplica un cambio sobre el video con ese id
+     */
+    <T> T sobreVideo(String id, Supplier<T> cambio) {
+        ReentrantLock franja = franja(id);
+        carril.readLock().lock();
+        try {
+            franja.lock();
+            try {
+                return cambio.get();
+            } finally {
+                franja.unlock();
+            }
+        } finally {
+            carril.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un cambio estructural, sin otras mutaciones en curso
+     */
+    <T> T estructural(Supplier<T> cambio) {
+        carril.writeLock().lock();
+        try {
+            return cambio.get();
+        } finally {
+            carril.writeLock().unlock();
+        }
+    }
+
+    private ReentrantLock franja(String id) {
+        int hash = id != null ? id.hashCode() : 0;
+        return franjas[(hash ^ (hash >>> 16)) & (FRANJAS - 1)];
+    }
+}
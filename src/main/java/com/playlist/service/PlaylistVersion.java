@@ -0,0 +1,25 @@
+package com.playlist.service;
+
+/**
+ * Versión de la playlist para las respuestas condicionales (ETag)
+ *
+ * El número avanza con cada cambio; el ETag incluye además el arranque de la
+ * aplicación, así un ETag de una ejecución anterior nunca coincide. No hay
+ * Last-Modified: con precisión de segundos, dos cambios en el mismo segundo
+ * darían por vigente una respuesta vieja.
+ */
+public class PlaylistVersion {
+
+    private final String etag;
+
+    public PlaylistVersion(String arranque, long numero) {
+        this.etag = "\"" + arranque + "-" + numero + "\"";
+    }
+
+    /**
+     * ETag fuerte, ya entre comillas
+     */
+    public String getEtag() {
+        return etag;
+    }
+}
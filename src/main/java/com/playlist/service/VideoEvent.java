@@ -0,0 +1,123 @@
+package com.playlist.service;
+
+import com.playlist.model.Video;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cambio de la playlist que se difunde a los clientes conectados (ver VideoEventBroadcaster)
+ *
+ * Lleva solo lo necesario para actualizar la vista: el video completo al agregarlo
+ * y, en el resto, el id con el dato que cambió
+ */
+public final class VideoEvent {
+
+    /**
+     * Tipos de evento; el nombre en minúsculas es el nombre del evento SSE
+     */
+    public enum Tipo {
+        AGREGADO,
+        ELIMINADO,
+        LIKES,
+        FAVORITO,
+        // Cambio masivo (importación, deduplicación) o eventos perdidos: el cliente vuelve a cargar
+        RECARGAR
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final Video video;
+    private final int delta;
+    private final int likes;
+    private final boolean favorito;
+
+    private VideoEvent(Tipo tipo, String id, Video video, int delta, int likes, boolean favorito) {
+        this.tipo = tipo;
+        this.id = id;
+        this.video = video;
+        this.delta = delta;
+        this.likes = likes;
+        this.favorito = favorito;
+    }
+
+    public static VideoEvent agregado(Video video) {
+        return new VideoEvent(Tipo.AGREGADO, video.getId(), video, 0, video.getLikes(), video.isFavorito());
+    }
+
+    public static VideoEvent eliminado(String id) {
+        return new VideoEvent(Tipo.ELIMINADO, id, null, 0, 0, false);
+    }
+
+    /**
+     * @param delta likes sumados por este cambio
+     * @param likes total de likes resultante
+     */
+    public static VideoEvent likes(String id, int delta, int likes) {
+        return new VideoEvent(Tipo.LIKES, id, null, delta, likes, false);
+    }
+
+    public static VideoEvent favorito(String id, boolean favorito) {
+        return new VideoEvent(Tipo.FAVORITO, id, null, 0, 0, favorito);
+    }
+
+    public static VideoEvent recargar() {
+        return new VideoEvent(Tipo.RECARGAR, null, null, 0, 0, false);
+    }
+
+    /**
+     * Une dos eventos de likes del mismo video: suma los deltas y conserva el mayor total
+     */
+    VideoEvent fusionar(VideoEvent otro) {
+        return likes(id, delta + otro.delta, Math.max(likes, otro.likes));
+    }
+
+    /**
+     * Contenido del evento para serializar como JSON
+     */
+    Object datos() {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        switch (tipo) {
+            case AGREGADO -> {
+                return video;
+            }
+            case ELIMINADO -> datos.put("id", id);
+            case LIKES -> {
+                datos.put("id", id);
+                datos.put("delta", delta);
+                datos.put("likes", likes);
+            }
+            case FAVORITO -> {
+                datos.put("id", id);
+                datos.put("favorito", favorito);
+            }
+            case RECARGAR -> {
+            }
+        }
+        return datos;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Video getVideo() {
+        return video;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public int getLikes() {
+        return likes;
+    }
+
+    public boolean isFavorito() {
+        return favorito;
+    }
+}
@@ -0,0 +1,452 @@
+package com.playlist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playlist.config.PlaylistProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Difunde los cambios de la playlist a los clientes conectados por Server-Sent Events
+ *
+ * Publicar no bloquea: el evento recibe un número de secuencia y entra en una
+ * cola acotada. Un único hilo despachador la vacía en lotes, fusiona los likes
+ * de un mismo video, serializa el lote una sola vez y lo deja en la cola
+ * acotada de cada cliente. Un pool chico de hilos escribe esas colas en las
+ * conexiones; cada cliente se escribe de a un hilo por vez y con todo lo que
+ * tenga pendiente en una sola escritura.
+ *
+ * Un cliente que no lee a tiempo se expulsa (se cierra su conexión) sin frenar
+ * al resto: cuando su cola se llena mientras se le está escribiendo, o cuando
+ * una escritura supera el plazo (playlist.events.write-timeout-ms). En ese caso
+ * el hilo queda bloqueado hasta que el contenedor corte la conexión, así que
+ * se retira del pool y se agrega otro en su lugar. Un cliente que solo espera
+ * un hilo libre no se expulsa: sus lotes pendientes se juntan en uno.
+ * Al reconectarse envía el último evento que recibió (Last-Event-ID); si se
+ * perdió alguno, recibe "recargar".
+ */
+@Component
+public class VideoEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoEventBroadcaster.class);
+
+    private static final int CAPACIDAD_PUBLICACION = 16_384;
+    private static final int MAX_LOTE = 256;
+    private static final MediaType TEXTO = new MediaType("text", "plain", StandardCharsets.UTF_8);
+    private static final String LATIDO = ":\n\n";
+    private static final String RECARGAR = "event: recargar\ndata: {}\n\n";
+    // Estado de escritura de un cliente retirado del pool por superar el plazo
+    private static final long RETENIDA = -1;
+
+    private final ObjectMapper objectMapper;
+    private final int capacidadCliente;
+    private final long latidoMs;
+    private final long plazoEscrituraMs;
+    private final long timeoutMs;
+
+    private final BlockingQueue<Publicado> publicados = new ArrayBlockingQueue<>(CAPACIDAD_PUBLICACION);
+    private final Map<Long, Suscriptor> suscriptores = new ConcurrentHashMap<>();
+    private final AtomicLong proximoSuscriptor = new AtomicLong();
+    private final Thread despachador;
+    private final int hilosEnvio;
+    private final ThreadPoolExecutor envios;
+    // Clientes con una escritura en curso, para vigilar su plazo
+    private final Set<Suscriptor> escribiendo = ConcurrentHashMap.newKeySet();
+    // Hilos de envío bloqueados en escrituras vencidas, reemplazados en el pool
+    private int hilosRetenidos;
+    private final long origen = System.nanoTime();
+    private volatile boolean activo = true;
+
+    // Secuencia del último evento publicado y del último entregado a las colas de los clientes
+    private long secuencia;
+    private final AtomicLong difundida = new AtomicLong();
+    private volatile boolean desbordado;
+
+    // Métricas
+    private final LongAdder expulsados = new LongAdder();
+
+    @Autowired
+    public VideoEventBroadcaster(ObjectMapper objectMapper, PlaylistProperties properties) {
+        PlaylistProperties.Events config = properties.getEvents();
+        this.objectMapper = objectMapper;
+        this.capacidadCliente = config.getBufferSize();
+        this.latidoMs = config.getHeartbeatMs();
+        this.plazoEscrituraMs = config.getWriteTimeoutMs();
+        this.timeoutMs = config.getTimeoutMs();
+        this.hilosEnvio = config.getSenderThreads();
+
+        // Hilos de plataforma también en el modo de hilos virtuales: send() es synchronized
+        // y una escritura bloqueada fijaría el hilo portador (Java 21)
+        AtomicInteger hilos = new AtomicInteger();
+        this.envios = new ThreadPoolExecutor(hilosEnvio, hilosEnvio, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "eventos-envio-" + hilos.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.despachador = new Thread(this::despachar, "eventos-despachador");
+        despachador.setDaemon(true);
+        despachador.start();
+    }
+
+    /**
+     * Publica un cambio para todos los clientes conectados, sin bloquear
+     * Si la cola de publicación está llena el evento se descarta y los clientes reciben "recargar"
+     */
+    public void publicar(VideoEvent evento) {
+        synchronized (this) {
+            long numero = ++secuencia;
+            if (suscriptores.isEmpty()) {
+                // Nadie escucha: solo avanza la secuencia (ver suscribir)
+                difundida.accumulateAndGet(numero, Math::max);
+                return;
+            }
+            if (!publicados.offer(new Publicado(numero, evento))) {
+                desbordado = true;
+            }
+        }
+    }
+
+    /**
+     * Secuencia del último evento publicado; la vista la informa para suscribirse desde ahí
+     */
+    public synchronized long getSecuencia() {
+        return secuencia;
+    }
+
+    /**
+     * Suscribe un cliente nuevo
+     *
+     * @param desde último evento que el cliente ya tiene (Last-Event-ID, o la secuencia
+     *              con la que se armó la página); negativo si no tiene ninguno
+     */
+    public SseEmitter suscribir(long desde) {
+        return suscribir(new SseEmitter(timeoutMs), desde);
+    }
+
+    /**
+     * Suscribe un cliente nuevo sobre un emitter ya creado
+     */
+    public SseEmitter suscribir(SseEmitter emitter, long desde) {
+        Suscriptor suscriptor = new Suscriptor(proximoSuscriptor.incrementAndGet(), emitter);
+        emitter.onCompletion(() -> quitar(suscriptor));
+        emitter.onTimeout(() -> quitar(suscriptor));
+        emitter.onError(error -> quitar(suscriptor));
+        suscriptores.put(suscriptor.numero, suscriptor);
+
+        // Se lee después de registrarlo: todo lo que se difunda desde ahora le llega,
+        // y si ya se difundió algo posterior a "desde" se lo perdió
+        if (desde >= 0 && desde < difundida.get()) {
+            suscriptor.encolar(RECARGAR);
+        }
+        log.debug("Cliente {} suscripto a eventos ({} conectados)", suscriptor.numero, suscriptores.size());
+        return emitter;
+    }
+
+    /**
+     * Cantidad de clientes conectados
+     */
+    public int getSuscriptores() {
+        return suscriptores.size();
+    }
+
+    /**
+     * Cantidad de clientes expulsados por no leer a tiempo
+     */
+    public long getExpulsados() {
+        return expulsados.sum();
+    }
+
+    /**
+     * Detiene el despachador y cierra las conexiones abiertas
+     */
+    @PreDestroy
+    public void cerrar() {
+        activo = false;
+        despachador.interrupt();
+        for (Suscriptor suscriptor : suscriptores.values()) {
+            quitar(suscriptor);
+            suscriptor.emitter.complete();
+        }
+        envios.shutdown();
+        try {
+            envios.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Bucle del despachador: toma lotes de eventos y los entrega a cada cliente
+     * Si no hay eventos durante el intervalo de latido envía un comentario SSE,
+     * para mantener viva la conexión y detectar clientes caídos. Entre lotes
+     * revisa el plazo de las escrituras en curso
+     */
+    private void despachar() {
+        List<Publicado> lote = new ArrayList<>(MAX_LOTE);
+        long espera = Math.max(1, Math.min(latidoMs, plazoEscrituraMs / 2));
+        long ultimoEnvio = System.nanoTime();
+        while (activo) {
+            try {
+                Publicado primero = publicados.poll(espera, TimeUnit.MILLISECONDS);
+                revisarEscrituras();
+                if (primero == null) {
+                    if (System.nanoTime() - ultimoEnvio >= TimeUnit.MILLISECONDS.toNanos(latidoMs)) {
+                        difundir(LATIDO);
+                        ultimoEnvio = System.nanoTime();
+                    }
+                    continue;
+                }
+                lote.add(primero);
+                publicados.drainTo(lote, MAX_LOTE - 1);
+
+                String texto = serializar(lote);
+                difundida.accumulateAndGet(lote.get(lote.size() - 1).numero, Math::max);
+                difundir(texto);
+                ultimoEnvio = System.nanoTime();
+                lote.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error al difundir eventos", e);
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Arma el texto SSE del lote: fusiona los likes de cada video en un único evento
+     * (en la posición del primero) y marca el último evento con la secuencia del lote
+     */
+    private String serializar(List<Publicado> lote) {
+        List<VideoEvent> eventos = new ArrayList<>(lote.size());
+        Map<String, Integer> posicionLikes = new HashMap<>();
+        for (Publicado publicado : lote) {
+            VideoEvent evento = publicado.evento;
+            if (evento.getTipo() == VideoEvent.Tipo.LIKES) {
+                Integer posicion = posicionLikes.putIfAbsent(evento.getId(), eventos.size());
+                if (posicion != null) {
+                    eventos.set(posicion, eventos.get(posicion).fusionar(evento));
+                    continue;
+                }
+            }
+            eventos.add(evento);
+        }
+
+        StringBuilder texto = new StringBuilder();
+        if (desbordado) {
+            desbordado = false;
+            texto.append(RECARGAR);
+        }
+        for (int i = 0; i < eventos.size(); i++) {
+            VideoEvent evento = eventos.get(i);
+            texto.append("event: ").append(evento.getTipo().name().toLowerCase(Locale.ROOT)).append('\n');
+            if (i == eventos.size() - 1) {
+                texto.append("id: ").append(lote.get(lote.size() - 1).numero).append('\n');
+            }
+            try {
+                texto.append("data: ").append(objectMapper.writeValueAsString(evento.datos())).append("\n\n");
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("No se pudo serializar el evento " + evento.getTipo(), e);
+            }
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Deja el texto en la cola de cada cliente
+     */
+    private void difundir(String texto) {
+        for (Suscriptor suscriptor : suscriptores.values()) {
+            suscriptor.encolar(texto);
+        }
+    }
+
+    /**
+     * Expulsa a los clientes con una escritura vencida y reemplaza sus hilos
+     */
+    private void revisarEscrituras() {
+        long plazo = TimeUnit.MILLISECONDS.toNanos(plazoEscrituraMs);
+        long ahora = instante();
+        for (Suscriptor suscriptor : escribiendo) {
+            long inicio = suscriptor.escritura.get();
+            if (inicio > 0 && ahora - inicio > plazo && suscriptor.escritura.compareAndSet(inicio, RETENIDA)) {
+                escribiendo.remove(suscriptor);
+                expulsar(suscriptor);
+                ajustarPool(1);
+            }
+        }
+    }
+
+    /**
+     * Instante actual en nanosegundos desde la creación del broadcaster (siempre positivo)
+     */
+    private long instante() {
+        return System.nanoTime() - origen + 1;
+    }
+
+    /**
+     * Agrega (o devuelve, al terminar la escritura vencida) un hilo al pool de envío
+     */
+    private synchronized void ajustarPool(int retenidos) {
+        hilosRetenidos += retenidos;
+        int total = hilosEnvio + hilosRetenidos;
+        if (retenidos > 0) {
+            envios.setMaximumPoolSize(total);
+            envios.setCorePoolSize(total);
+        } else {
+            envios.setCorePoolSize(total);
+            envios.setMaximumPoolSize(total);
+        }
+    }
+
+    private boolean quitar(Suscriptor suscriptor) {
+        return suscriptores.remove(suscriptor.numero, suscriptor);
+    }
+
+    /**
+     * Expulsa a un cliente lento; su conexión se cierra cuando termine la escritura en curso
+     */
+    private void expulsar(Suscriptor suscriptor) {
+        if (!quitar(suscriptor)) {
+            return;
+        }
+        expulsados.increment();
+        log.warn("Cliente {} expulsado de los eventos por no leer a tiempo", suscriptor.numero);
+        suscriptor.expulsado = true;
+        if (suscriptor.programado.compareAndSet(false, true)) {
+            suscriptor.emitter.complete();
+        }
+    }
+
+    private record Publicado(long numero, VideoEvent evento) {
+    }
+
+    /**
+     * Cliente conectado: su cola acotada de textos pendientes y su conexión
+     */
+    private final class Suscriptor {
+
+        private final long numero;
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> pendientes = new ArrayBlockingQueue<>(capacidadCliente);
+        // true mientras haya una tarea de envío en curso o programada para este cliente
+        private final AtomicBoolean programado = new AtomicBoolean();
+        // Inicio (ver instante) de la escritura en curso, 0 si no hay ninguna o RETENIDA si venció
+        private final AtomicLong escritura = new AtomicLong();
+        private volatile boolean expulsado;
+
+        private Suscriptor(long numero, SseEmitter emitter) {
+            this.numero = numero;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Encola el texto y programa el envío
+         * Si la cola está llena mientras se le escribe, el cliente no lee a tiempo y se
+         * expulsa; si solo espera un hilo libre, lo pendiente se junta en un único texto
+         */
+        void encolar(String texto) {
+            if (!pendientes.offer(texto)) {
+                if (escritura.get() != 0) {
+                    expulsar(this);
+                    return;
+                }
+                StringBuilder juntos = new StringBuilder();
+                List<String> anteriores = new ArrayList<>(capacidadCliente);
+                pendientes.drainTo(anteriores);
+                anteriores.forEach(juntos::append);
+                pendientes.offer(juntos.append(texto).toString());
+            }
+            if (programado.compareAndSet(false, true)) {
+                try {
+                    envios.execute(this::enviar);
+                } catch (RejectedExecutionException e) {
+                    // El broadcaster se está cerrando
+                }
+            }
+        }
+
+        /**
+         * Escribe todo lo pendiente en una sola operación, hasta vaciar la cola
+         */
+        private void enviar() {
+            StringBuilder texto = new StringBuilder();
+            while (true) {
+                if (expulsado) {
+                    emitter.complete();
+                    return;
+                }
+                String pendiente;
+                while ((pendiente = pendientes.poll()) != null) {
+                    texto.append(pendiente);
+                }
+                if (texto.length() > 0) {
+                    if (!escribir(texto.toString())) {
+                        return;
+                    }
+                    texto.setLength(0);
+                }
+                programado.set(false);
+                if ((pendientes.isEmpty() && !expulsado) || !programado.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Escribe en la conexión bajo la vigilancia del plazo (ver revisarEscrituras)
+         *
+         * @return false si el cliente ya no debe recibir más escrituras
+         */
+        private boolean escribir(String texto) {
+            long inicio = instante();
+            escritura.set(inicio);
+            escribiendo.add(this);
+            boolean enviado;
+            try {
+                emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(texto, TEXTO)));
+                enviado = true;
+            } catch (IOException | IllegalStateException e) {
+                // Conexión cerrada: el contenedor completa el emitter
+                quitar(this);
+                enviado = false;
+            }
+            escribiendo.remove(this);
+            if (!escritura.compareAndSet(inicio, 0)) {
+                // La escritura venció: el cliente ya fue expulsado y este hilo reemplazado
+                ajustarPool(-1);
+                emitter.complete();
+                return false;
+            }
+            return enviado;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.playlist.service;
+
+import com.playlist.model.Video;
+import com.playlist.model.VideoId;
+import com.playlist.repository.VideoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido sobre el nombre de los videos, para la búsqueda
+ *
+ * Cada término (palabra del nombre sin tildes y en minúsculas) apunta a los
+ * documentos (un número por video) que lo contienen. Los términos están
+ * ordenados, así un prefijo ("bohem") se resuelve como un rango de términos,
+ * para el autocompletado mientras se escribe.
+ *
+ * Una búsqueda arma un bitset por término de la consulta, cuenta en cuántos
+ * aparece cada documento y se queda con los mejores "limite" por cantidad de
+ * coincidencias y luego por likes, sin ordenar todos los candidatos.
+ *
+ * Se construye al iniciar a partir del repositorio y el servicio lo actualiza
+ * en cada alta, baja y like.
+ */
+@Component
+public class VideoSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoSearchIndex.class);
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Término -> documentos que lo contienen
+    private final TreeMap<String, Postings> terminos = new TreeMap<>();
+
+    // Id del video <-> número de documento (los números libres se reutilizan)
+    private final Map<VideoId, Integer> docPorId = new HashMap<>();
+    private VideoId[] idPorDoc = new VideoId[1024];
+    private String[][] terminosPorDoc = new String[1024][];
+    private AtomicIntegerArray likesPorDoc = new AtomicIntegerArray(1024);
+    private int[] libres = new int[16];
+    private int cantidadLibres;
+    private int maxDoc;
+
+    @Autowired
+    public VideoSearchIndex(VideoRepository videoRepository) {
+        try (Stream<Video> videos = videoRepository.streamAll()) {
+            videos.forEach(this::agregar);
+        }
+        log.info("Índice de búsqueda construido: {} videos, {} términos", size(), terminos.size());
+    }
+
+    /**
+     * Agrega (o reemplaza) un video en el índice
+     */
+    public void agregar(Video video) {
+        String[] terminosVideo = new LinkedHashSet<>(tokenizar(video.getNombre())).toArray(new String[0]);
+        lock.writeLock().lock();
+        try {
+            quitarDoc(video.clave());
+            int doc = nuevoDoc();
+            docPorId.put(video.clave(), doc);
+            idPorDoc[doc] = video.clave();
+            terminosPorDoc[doc] = terminosVideo;
+            likesPorDoc.set(doc, video.getLikes());
+            for (String termino : terminosVideo) {
+                terminos.computeIfAbsent(termino, t -> new Postings()).agregar(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un video del índice (los términos sin videos se eliminan)
+     */
+    public void quitar(String id) {
+        lock.writeLock().lock();
+        try {
+            quitarDoc(VideoId.de(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra el nuevo total de likes de un video (los likes concurrentes
+     * pueden llegar desordenados, se conserva el mayor)
+     */
+    public void actualizarLikes(String id, int likes) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docPorId.get(VideoId.de(id));
+            if (doc != null) {
+                likesPorDoc.accumulateAndGet(doc, likes, Math::max);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca videos cuyo nombre contenga palabras que empiecen con los términos de la consulta
+     *
+     * @return ids de hasta "limite" videos, del más relevante al menos relevante
+     */
+    public List<String> buscar(String consulta, int limite) {
+        List<String> terminosConsulta = new ArrayList<>(new LinkedHashSet<>(tokenizar(consulta)));
+        if (terminosConsulta.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int palabras = (maxDoc + 63) >>> 6;
+            long[][] porTermino = new long[terminosConsulta.size()][];
+            long[] alguno = new long[palabras];
+            for (int t = 0; t < porTermino.length; t++) {
+                long[] bits = new long[palabras];
+                for (Postings postings : conPrefijo(terminosConsulta.get(t)).values()) {
+                    postings.marcar(bits);
+                }
+                for (int w = 0; w < palabras; w++) {
+                    alguno[w] |= bits[w];
+                }
+                porTermino[t] = bits;
+            }
+
+            Mejores mejores = new Mejores(limite);
+            for (int w = 0; w < palabras; w++) {
+                long pendientes = alguno[w];
+                while (pendientes != 0) {
+                    int bit = Long.numberOfTrailingZeros(pendientes);
+                    pendientes &= pendientes - 1;
+                    long mascara = 1L << bit;
+                    int coincidencias = 0;
+                    for (long[] bits : porTermino) {
+                        if ((bits[w] & mascara) != 0) {
+                            coincidencias++;
+                        }
+                    }
+                    int doc = (w << 6) | bit;
+                    mejores.ofrecer(((long) coincidencias << 32) | likesPorDoc.get(doc), doc);
+                }
+            }
+            return mejores.ids(idPorDoc);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Términos del índice que empiezan con el prefijo
+     */
+    private Map<String, Postings> conPrefijo(String prefijo) {
+        return terminos.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+    }
+
+    private void quitarDoc(VideoId id) {
+        Integer doc = docPorId.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String termino : terminosPorDoc[doc]) {
+            Postings postings = terminos.get(termino);
+            if (postings.quitar(doc)) {
+                terminos.remove(termino);
+            }
+        }
+        idPorDoc[doc] = null;
+        terminosPorDoc[doc] = null;
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, cantidadLibres * 2);
+        }
+        libres[cantidadLibres++] = doc;
+    }
+
+    private int nuevoDoc() {
+        if (cantidadLibres > 0) {
+            return libres[--cantidadLibres];
+        }
+        if (maxDoc == idPorDoc.length) {
+            int capacidad = maxDoc * 2;
+            idPorDoc = Arrays.copyOf(idPorDoc, capacidad);
+            terminosPorDoc = Arrays.copyOf(terminosPorDoc, capacidad);
+            AtomicIntegerArray likes = new AtomicIntegerArray(capacidad);
+            for (int doc = 0; doc < maxDoc; doc++) {
+                likes.set(doc, likesPorDoc.get(doc));
+            }
+            likesPorDoc = likes;
+        }
+        return maxDoc++;
+    }
+
+    /**
+     * Divide el texto en términos sin tildes y en minúsculas ("Canción Ñandú" -> [cancion, nandu])
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> resultado = new ArrayList<>();
+        for (String termino : SEPARADORES.split(normalizado.toLowerCase(Locale.ROOT))) {
+            if (!termino.isEmpty()) {
+                resultado.add(termino);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Documentos de un término, en un arreglo de enteros que crece según haga falta
+     */
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void agregar(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * @return true si el término quedó sin documentos
+         */
+        boolean quitar(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    docs[i] = docs[--size];
+                    break;
+                }
+            }
+            return size == 0;
+        }
+
+        void marcar(long[] bits) {
+            for (int i = 0; i < size; i++) {
+                bits[docs[i] >>> 6] |= 1L << docs[i];
+            }
+        }
+    }
+
+    /**
+     * Los mejores "limite" documentos por clave (coincidencias, likes) y, a igual
+     * clave, el de menor número de documento. Se mantienen ordenados de mejor a peor.
+     */
+    private static class Mejores {
+        private final long[] claves;
+        private final int[] docs;
+        private int size;
+
+        Mejores(int limite) {
+            this.claves = new long[limite];
+            this.docs = new int[limite];
+        }
+
+        void ofrecer(long clave, int doc) {
+            if (size == claves.length && !mejor(clave, doc, claves[size - 1], docs[size - 1])) {
+                return;
+            }
+            int i = size == claves.length ? size - 1 : size++;
+            while (i > 0 && mejor(clave, doc, claves[i - 1], docs[i - 1])) {
+                claves[i] = claves[i - 1];
+                docs[i] = docs[i - 1];
+                i--;
+            }
+            claves[i] = clave;
+            docs[i] = doc;
+        }
+
+        private static boolean mejor(long clave, int doc, long otraClave, int otroDoc) {
+            return clave > otraClave || (clave == otraClave && doc < otroDoc);
+        }
+
+        List<String> ids(VideoId[] idPorDoc) {
+            List<String> ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ids.add(idPorDoc[docs[i]].toString());
+            }
+            return ids;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.playlist.service;
 
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.IdGenerator;
 import com.playlist.model.Video;
+import com.playlist.model.YouTubeUrlParser;
+import com.playlist.repository.VideoPage;
 import com.playlist.repository.VideoRepository;
+import com.playlist.repository.VideoSort;
+import com.playlist.repository.WriteBatcherMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio para la lógica de negocio de videos
@@ -23,12 +38,32 @@ public class VideoService {
     private static final int MAX_TOP_VIDEOS = 100;
     private static final int MIN_TOP_VIDEOS = 1;
 
+    // Límite de videos por página
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Filas por lote de importación: se leen, validan y guardan de a un lote
+    private static final int TAMANO_LOTE_IMPORTACION = 1000;
+
 
     private final VideoRepository videoRepository;
+    private final VideoSearchIndex searchIndex;
+    private final DuplicatePolicy politicaDuplicados;
+    private final IdGenerator generadorIds;
+    private final VideoEventBroadcaster eventos;
+    private final MutationLocks locks = new MutationLocks();
+
+    // Versión de la playlist: avanza después de aplicar cada cambio (ver obtenerVersion)
+    private final LongAdder version = new LongAdder();
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
 
     @Autowired
-    public VideoService(VideoRepository videoRepository) {
+    public VideoService(VideoRepository videoRepository, VideoSearchIndex searchIndex,
+                        VideoEventBroadcaster eventos, PlaylistProperties properties) {
         this.videoRepository = videoRepository;
+        this.searchIndex = searchIndex;
+        this.eventos = eventos;
+        this.politicaDuplicados = properties.getDuplicates().getPolicy();
+        this.generadorIds = properties.getIds().getGenerator().generador();
     }
 
     /**
@@ -39,6 +74,26 @@ public class VideoService {
         return videoRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de videos con paginación por cursor
+     *
+     * @param after id del último video de la página anterior, o null para la primera
+     */
+    public VideoPage obtenerPagina(VideoSort orden, String after, int limite) {
+        limite = limitarPagina(limite);
+        log.info("Obteniendo página de {} videos ordenados por {} después de {}", limite, orden, after);
+        return videoRepository.findPage(orden, after, limite);
+    }
+
+    /**
+     * Recorre todos los videos para exportarlos de forma incremental
+     * El llamador debe cerrar el stream al terminar
+     */
+    public Stream<Video> exportarVideos() {
+        log.info("Exportando videos");
+        return videoRepository.streamAll();
+    }
+
     /**
      * Obtiene un video por su ID
      */
@@ -49,50 +104,246 @@ public class VideoService {
 
     /**
      * Agrega un nuevo video a la playlist
+     * Si su id de YouTube ya está en la playlist se aplica la política de duplicados
+     * (playlist.duplicates.policy); la búsqueda usa el índice del repositorio: O(1).
+     * Es un cambio estructural: dos altas del mismo video no pueden pasar las dos el control
+     *
+     * @return el video guardado, o el existente si la política es MERGE
+     * @throws IllegalArgumentException si los datos son inválidos o el video está duplicado (REJECT)
      */
     public Video agregarVideo(String nombre, String link) {
         validarDatosVideo(nombre, link);
 
-        Video nuevoVideo = new Video(nombre, link);
-        Video videoGuardado = videoRepository.save(nuevoVideo);
+        Video nuevoVideo = new Video(nombre, link, generadorIds);
+        return locks.estructural(() -> {
+            Optional<Video> existente = buscarDuplicado(nuevoVideo);
+            if (existente.isPresent()) {
+                if (politicaDuplicados == DuplicatePolicy.REJECT) {
+                    throw new IllegalArgumentException("El video ya está en la playlist");
+                }
+                if (politicaDuplicados == DuplicatePolicy.MERGE) {
+                    log.info("Video duplicado, se conserva el existente: {}", existente.get().getId());
+                    return existente.get();
+                }
+            }
+
+            Video videoGuardado = videoRepository.save(nuevoVideo);
+            searchIndex.agregar(videoGuardado);
+            registrarCambio();
+            eventos.publicar(VideoEvent.agregado(videoGuardado));
+
+            log.info("Video agregado exitosamente: {} - {}", nombre, videoGuardado.getId());
+            return videoGuardado;
+        });
+    }
+
+    /**
+     * Importa videos en lote desde un flujo NDJSON o CSV
+     *
+     * El archivo se lee por lotes de TAMANO_LOTE_IMPORTACION filas, así la memoria no
+     * depende de su tamaño. En cada lote las filas se validan en paralelo (fork-join)
+     * y los videos se crean en orden de fila, así sus ids y fechas siguen el orden del
+     * archivo; nada de eso toma locks. Solo el control de duplicados y el guardado del
+     * lote (una única operación de persistencia) son un cambio estructural.
+     * Siempre se descartan los duplicados por id de video de YouTube: contra la playlist,
+     * que ya incluye los lotes anteriores, y dentro del mismo lote. La política de
+     * duplicados solo decide si se informan como filas con error (REJECT) o se
+     * omiten en silencio (MERGE, ALLOW); en todos los casos se cuentan en "duplicados".
+     */
+    public ImportResult importarVideos(Reader reader, ImportFormat formato) throws IOException {
+        ImportParser parser = new ImportParser(reader, formato);
+        Importacion importacion = new Importacion();
+
+        List<ImportParser.Fila> lote;
+        while (!(lote = parser.leerLote(TAMANO_LOTE_IMPORTACION)).isEmpty()) {
+            lote.parallelStream()
+                    .filter(fila -> fila.error == null)
+                    .forEach(this::validarFila);
+            for (ImportParser.Fila fila : lote) {
+                if (fila.error == null) {
+                    fila.video = new Video(fila.nombre.trim(), fila.link.trim(), generadorIds);
+                }
+            }
+
+            List<ImportParser.Fila> filas = lote;
+            importacion.importados += locks.estructural(() -> guardarLote(filas, importacion));
+        }
 
-        log.info("Video agregado exitosamente: {} - {}", nombre, videoGuardado.getId());
-        return videoGuardado;
+        if (importacion.importados > 0) {
+            eventos.publicar(VideoEvent.recargar());
+        }
+        log.info("Importación finalizada: {} filas, {} importados, {} con errores",
+                importacion.totalFilas, importacion.importados, importacion.errores.size());
+        return new ImportResult(importacion.totalFilas, importacion.importados,
+                importacion.duplicados, importacion.errores);
     }
 
     /**
-     * Elimina un video de la playlist
+     * Descarta los duplicados de las filas válidas del lote y guarda el resto
+     *
+     * @return cuántos videos del lote se guardaron
      */
-    public boolean eliminarVideo(String id) {
-        log.info("Intentando eliminar video con ID: {}", id);
-        boolean eliminado = videoRepository.deleteById(id);
+    private int guardarLote(List<ImportParser.Fila> filas, Importacion importacion) {
+        Map<String, Integer> vistos = new HashMap<>();
+        List<Video> nuevos = new ArrayList<>();
+
+        for (ImportParser.Fila fila : filas) {
+            if (fila.error != null) {
+                importacion.errores.add(new ImportResult.ErrorFila(fila.numero, fila.error));
+                continue;
+            }
+
+            Integer filaAnterior = vistos.putIfAbsent(claveDuplicado(fila.video), fila.numero);
+            String motivo = null;
+            if (buscarDuplicado(fila.video).isPresent()) {
+                motivo = "El video ya está en la playlist";
+            } else if (filaAnterior != null) {
+                motivo = "Video duplicado de la fila " + filaAnterior;
+            }
+
+            if (motivo == null) {
+                nuevos.add(fila.video);
+            } else {
+                importacion.duplicados++;
+                if (politicaDuplicados == DuplicatePolicy.REJECT) {
+                    importacion.errores.add(new ImportResult.ErrorFila(fila.numero, motivo));
+                }
+            }
+        }
 
-        if (eliminado) {
-            log.info("Video eliminado exitosamente: {}", id);
-        } else {
-            log.warn("No se encontró el video con ID: {}", id);
+        importacion.totalFilas += filas.size();
+        if (!nuevos.isEmpty()) {
+            videoRepository.saveAll(nuevos);
+            nuevos.forEach(searchIndex::agregar);
+            registrarCambio();
         }
+        return nuevos.size();
+    }
 
-        return eliminado;
+    /**
+     * Totales acumulados de una importación, lote a lote
+     */
+    private static final class Importacion {
+        int totalFilas;
+        int importados;
+        int duplicados;
+        final List<ImportResult.ErrorFila> errores = new ArrayList<>();
     }
 
     /**
-     * Incrementa los likes de un video
+     * Valida una fila; si no es válida deja el motivo en fila.error
      */
-    public Optional<Video> agregarLike(String id) {
-        log.info("Agregando like al video: {}", id);
+    private void validarFila(ImportParser.Fila fila) {
+        try {
+            validarDatosVideo(fila.nombre, fila.link);
+        } catch (IllegalArgumentException e) {
+            fila.error = e.getMessage();
+        }
+    }
+
+    /**
+     * Video de la playlist con el mismo id de YouTube, si lo hay
+     */
+    private Optional<Video> buscarDuplicado(Video video) {
+        String youtubeId = video.getVideoIdParaEmbed();
+        return youtubeId != null ? videoRepository.findByYoutubeId(youtubeId) : Optional.empty();
+    }
+
+    /**
+     * Elimina los videos duplicados de la playlist en una sola pasada
+     *
+     * Recorre los videos por fecha y conserva el primero de cada id de YouTube;
+     * a ese le suma los likes de sus duplicados (y queda favorito si alguno lo era).
+     * Los cambios se guardan y los duplicados se eliminan en un único lote cada uno.
+     * Es un cambio estructural: los likes y bajas que lleguen durante la pasada
+     * esperan a que termine, así no se pierden ni reviven videos eliminados
+     */
+    public DedupResult deduplicarVideos() {
+        return locks.estructural(this::deduplicar);
+    }
 
-        Optional<Video> videoOpt = videoRepository.findById(id);
-        if (videoOpt.isPresent()) {
-            Video video = videoOpt.get();
-            video.agregarLike();
-            videoRepository.save(video);
-            log.info("Like agregado. Total likes: {}", video.getLikes());
-            return Optional.of(video);
+    private DedupResult deduplicar() {
+        Map<String, Video> conservados = new HashMap<>();
+        Map<String, Video> modificados = new LinkedHashMap<>();
+        List<String> eliminados = new ArrayList<>();
+        int revisados = 0;
+
+        try (Stream<Video> videos = videoRepository.streamAll()) {
+            for (Video video : (Iterable<Video>) videos::iterator) {
+                revisados++;
+                String youtubeId = video.getVideoIdParaEmbed();
+                Video conservado = youtubeId != null ? conservados.putIfAbsent(youtubeId, video) : null;
+                if (conservado == null) {
+                    continue;
+                }
+                conservado.setLikes(conservado.getLikes() + video.getLikes());
+                conservado.setFavorito(conservado.isFavorito() || video.isFavorito());
+                modificados.put(conservado.getId(), conservado);
+                eliminados.add(video.getId());
+            }
         }
 
-        log.warn("No se pudo agregar like. Video no encontrado: {}", id);
-        return Optional.empty();
+        videoRepository.saveAll(modificados.values());
+        int cantidad = videoRepository.deleteAllById(eliminados);
+        eliminados.forEach(searchIndex::quitar);
+        modificados.values().forEach(video -> searchIndex.actualizarLikes(video.getId(), video.getLikes()));
+        if (cantidad > 0) {
+            registrarCambio();
+            eventos.publicar(VideoEvent.recargar());
+        }
+
+        log.info("Deduplicación finalizada: {} videos revisados, {} eliminados", revisados, cantidad);
+        return new DedupResult(revisados, cantidad);
+    }
+
+    /**
+     * Clave para detectar duplicados: el id de YouTube, o el link si no se pudo extraer
+     */
+    private static String claveDuplicado(Video video) {
+        String videoId = video.getVideoIdParaEmbed();
+        return videoId != null ? videoId : video.getLink();
+    }
+
+    /**
+     * Elimina un video de la playlist
+     */
+    public boolean eliminarVideo(String id) {
+        log.info("Intentando eliminar video con ID: {}", id);
+        return locks.sobreVideo(id, () -> {
+            boolean eliminado = videoRepository.deleteById(id);
+
+            if (eliminado) {
+                searchIndex.quitar(id);
+                registrarCambio();
+                eventos.publicar(VideoEvent.eliminado(id));
+                log.info("Video eliminado exitosamente: {}", id);
+            } else {
+                log.warn("No se encontró el video con ID: {}", id);
+            }
+
+            return eliminado;
+        });
+    }
+
+    /**
+     * Incrementa los likes de un video
+     * El contador es atómico: likes concurrentes sobre el mismo video no se pierden,
+     * y un like que llega después de eliminar el video no lo revive
+     */
+    public Optional<Video> agregarLike(String id) {
+        return locks.sobreVideo(id, () -> {
+            Optional<Video> videoOpt = videoRepository.incrementarLikes(id);
+
+            if (videoOpt.isPresent()) {
+                searchIndex.actualizarLikes(id, videoOpt.get().getLikes());
+                registrarCambio();
+                eventos.publicar(VideoEvent.likes(id, 1, videoOpt.get().getLikes()));
+                log.debug("Like agregado al video {}. Total likes: {}", id, videoOpt.get().getLikes());
+            } else {
+                log.warn("No se pudo agregar like. Video no encontrado: {}", id);
+            }
+            return videoOpt;
+        });
     }
 
     /**
@@ -101,17 +352,31 @@ public class VideoService {
     public Optional<Video> toggleFavorito(String id) {
         log.info("Cambiando estado de favorito del video: {}", id);
 
-        Optional<Video> videoOpt = videoRepository.findById(id);
-        if (videoOpt.isPresent()) {
-            Video video = videoOpt.get();
-            video.toggleFavorito();
-            videoRepository.save(video);
-            log.info("Estado de favorito actualizado: {}", video.isFavorito());
-            return Optional.of(video);
-        }
+        return locks.sobreVideo(id, () -> {
+            Optional<Video> videoOpt = videoRepository.toggleFavorito(id);
+            if (videoOpt.isPresent()) {
+                registrarCambio();
+                eventos.publicar(VideoEvent.favorito(id, videoOpt.get().isFavorito()));
+                log.info("Estado de favorito actualizado: {}", videoOpt.get().isFavorito());
+                return videoOpt;
+            }
+
+            log.warn("No se pudo cambiar favorito. Video no encontrado: {}", id);
+            return Optional.<Video>empty();
+        });
+    }
 
-        log.warn("No se pudo cambiar favorito. Video no encontrado: {}", id);
-        return Optional.empty();
+    /**
+     * Busca videos por nombre (sin distinguir tildes ni mayúsculas, por prefijo)
+     * ordenados por términos coincidentes y luego por likes
+     */
+    public List<Video> buscarVideos(String consulta, int limite) {
+        limite = limitarPagina(limite);
+        log.debug("Buscando videos: '{}'", consulta);
+        return searchIndex.buscar(consulta, limite).stream()
+                .map(videoRepository::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -122,6 +387,17 @@ public class VideoService {
         return videoRepository.findFavoritos();
     }
 
+    /**
+     * Obtiene una página de favoritos (por fecha de agregado) con paginación por cursor
+     *
+     * @throws IllegalArgumentException si el cursor no corresponde a un video existente
+     */
+    public VideoPage obtenerPaginaFavoritos(String after, int limite) {
+        limite = limitarPagina(limite);
+        log.info("Obteniendo página de {} favoritos después de {}", limite, after);
+        return videoRepository.findFavoritosPage(after, limite);
+    }
+
     /**
      * Obtiene los videos más populares (top N por likes)
      */
@@ -142,14 +418,43 @@ public class VideoService {
 
     /**
      * Obtiene estadísticas de la playlist
+     * Usa los contadores que el repositorio mantiene en cada mutación: O(1)
      */
     public PlaylistStats obtenerEstadisticas() {
-        List<Video> videos = videoRepository.findAll();
-        long totalVideos = videos.size();
-        long totalFavoritos = videos.stream().filter(Video::isFavorito).count();
-        long totalLikes = videos.stream().mapToLong(Video::getLikes).sum();
+        return new PlaylistStats(videoRepository.count(),
+                videoRepository.countFavoritos(),
+                videoRepository.sumLikes());
+    }
+
+    /**
+     * Obtiene las métricas de las escrituras agrupadas (likes y favoritos)
+     */
+    public WriteBatcherMetrics obtenerMetricasEscritura() {
+        return videoRepository.getMetricasEscritura();
+    }
+
+    /**
+     * Versión actual de la playlist, sin consultar el repositorio
+     *
+     * Se lee antes que los datos: si un cambio llega en el medio, la respuesta
+     * lleva la versión anterior y el próximo pedido condicional la vuelve a traer
+     */
+    public PlaylistVersion obtenerVersion() {
+        return new PlaylistVersion(arranque, version.sum());
+    }
 
-        return new PlaylistStats(totalVideos, totalFavoritos, totalLikes);
+    /**
+     * Avanza la versión de la playlist (se invoca después de aplicar cada cambio)
+     */
+    private void registrarCambio() {
+        version.increment();
+    }
+
+    /**
+     * Ajusta el tamaño de página al rango [1, MAX_PAGE_SIZE]
+     */
+    private int limitarPagina(int limite) {
+        return Math.max(1, Math.min(limite, MAX_PAGE_SIZE));
     }
 
     /**
@@ -164,18 +469,11 @@ public class VideoService {
             throw new IllegalArgumentException("El link del video no puede estar vacío");
         }
 
-        if (!esUrlValida(link)) {
+        if (!YouTubeUrlParser.esValida(link)) {
             throw new IllegalArgumentException("El link proporcionado no es una URL válida de YouTube");
         }
     }
 
-    /**
-     * Valida si una URL es válida (formato básico de YouTube)
-     */
-    private boolean esUrlValida(String url) {
-        return url.contains("youtube.com") || url.contains("youtu.be");
-    }
-
     /**
      * Clase interna para estadísticas de la playlist
      */
@@ -0,0 +1,64 @@
+package com.playlist.tools;
+
+import com.playlist.repository.MappedCompaction;
+import com.playlist.repository.SnapshotMigration;
+import com.playlist.repository.StorageFormat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Herramienta de línea de comandos para el almacenamiento de la playlist
+ *
+ * <pre>
+ * migrate &lt;origen&gt; &lt;destino&gt;   convierte el snapshot (formato según extensión: .bin o .json)
+ * compact &lt;data-file&gt;           compacta el almacén mapeado (modo MAPPED) de ese archivo de datos
+ * </pre>
+ */
+public final class StorageTool {
+
+    private StorageTool() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            uso();
+            return;
+        }
+        switch (args[0]) {
+            case "migrate" -> {
+                if (args.length != 3) {
+                    uso();
+                    return;
+                }
+                migrar(Paths.get(args[1]), Paths.get(args[2]));
+            }
+            case "compact" -> {
+                if (args.length != 2) {
+                    uso();
+                    return;
+                }
+                long liberados = MappedCompaction.compactar(Paths.get(args[1]));
+                System.out.printf("Almacén compactado: %d bytes liberados%n", liberados);
+            }
+            default -> uso();
+        }
+    }
+
+    private static void migrar(Path origen, Path destino) {
+        if (!Files.exists(origen)) {
+            System.err.println("No existe el archivo de origen: " + origen);
+            System.exit(1);
+        }
+        StorageFormat formatoOrigen = SnapshotMigration.formatoDe(origen);
+        StorageFormat formatoDestino = SnapshotMigration.formatoDe(destino);
+        int cantidad = SnapshotMigration.migrar(origen, formatoOrigen, destino, formatoDestino);
+        System.out.printf("Migrados %d videos: %s (%s) -> %s (%s)%n",
+                cantidad, origen, formatoOrigen, destino, formatoDestino);
+    }
+
+    private static void uso() {
+        System.out.println("Uso: StorageTool migrate <origen> <destino> | compact <data-file>");
+    }
+}
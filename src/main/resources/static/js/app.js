@@ -8,6 +8,7 @@ $(document).ready(function() {
 
     // Configuración inicial
     setupEventListeners();
+    conectarEventos();
 });
 
 /**
@@ -83,10 +84,12 @@ function agregarVideo() {
                 // Mostrar notificación de éxito
                 mostrarNotificacion('Video agregado exitosamente', 'success');
 
-                // Recargar página después de un breve delay
-                setTimeout(function() {
-                    location.reload();
-                }, 1000);
+                // La tarjeta se agrega con el evento del servidor; sin eventos, se recarga
+                if (!window.EventSource) {
+                    setTimeout(function() {
+                        location.reload();
+                    }, 1000);
+                }
             } else {
                 mostrarError(response.message);
             }
@@ -110,8 +113,8 @@ function agregarLike(videoId, boton) {
         type: 'POST',
         success: function(response) {
             if (response.success) {
-                // Actualizar contador
-                boton.find('.like-count').text(response.likes);
+                // Actualizar contador (el evento del servidor puede haber llegado antes)
+                actualizarLikes(videoId, response.likes);
 
                 // Animación
                 boton.find('i').addClass('fa-beat');
@@ -138,11 +141,10 @@ function toggleFavorito(videoId, boton) {
         success: function(response) {
             if (response.success) {
                 // Actualizar estado del botón
+                marcarFavorito(boton, response.favorito);
                 if (response.favorito) {
-                    boton.removeClass('btn-outline-warning').addClass('btn-warning');
                     mostrarNotificacion('¡Agregado a favoritos!', 'warning');
                 } else {
-                    boton.removeClass('btn-warning').addClass('btn-outline-warning');
                     mostrarNotificacion('Removido de favoritos', 'info');
                 }
 
@@ -178,11 +180,7 @@ function eliminarVideo(videoId) {
         success: function(response) {
             if (response.success) {
                 mostrarNotificacion('Video eliminado exitosamente', 'success');
-
-                // Recargar página después de un breve delay
-                setTimeout(function() {
-                    location.reload();
-                }, 1000);
+                quitarTarjeta(videoId);
             }
         },
         error: function() {
@@ -191,6 +189,176 @@ function eliminarVideo(videoId) {
     });
 }
 
+/**
+ * Se suscribe a los cambios en vivo (/api/events) para actualizar la página sin recargarla,
+ * incluidos los cambios hechos desde otras pestañas
+ */
+function conectarEventos() {
+    const grid = $('#gridVideos');
+    if (!window.EventSource || grid.length === 0) {
+        return;
+    }
+
+    // Al reconectarse, el navegador envía el último evento recibido (Last-Event-ID)
+    const eventos = new EventSource(`/api/events?desde=${grid.data('secuencia')}`);
+
+    eventos.addEventListener('agregado', function(e) {
+        const video = JSON.parse(e.data);
+        // Los videos nuevos van al final: solo se muestran en la última página
+        if (!grid.data('favoritos') && grid.data('ultima-pagina')) {
+            agregarTarjeta(video);
+        }
+        actualizarEstadisticas();
+    });
+
+    eventos.addEventListener('eliminado', function(e) {
+        quitarTarjeta(JSON.parse(e.data).id);
+        actualizarEstadisticas();
+    });
+
+    eventos.addEventListener('likes', function(e) {
+        const cambio = JSON.parse(e.data);
+        actualizarLikes(cambio.id, cambio.likes);
+        actualizarEstadisticas();
+    });
+
+    eventos.addEventListener('favorito', function(e) {
+        const cambio = JSON.parse(e.data);
+        const tarjeta = buscarTarjeta(cambio.id);
+        if (grid.data('favoritos') && !cambio.favorito) {
+            quitarTarjeta(cambio.id);
+        } else if (tarjeta.length > 0) {
+            marcarFavorito(tarjeta.find('.favorito-btn'), cambio.favorito);
+        } else if (grid.data('favoritos') && grid.data('ultima-pagina')) {
+            $.getJSON(`/api/videos/${cambio.id}`, agregarTarjeta);
+        }
+        actualizarEstadisticas();
+    });
+
+    // Cambio masivo o eventos perdidos (p.ej. el cliente estuvo desconectado)
+    eventos.addEventListener('recargar', function() {
+        location.reload();
+    });
+}
+
+/**
+ * Tarjeta (columna del grid) de un video, si está en la página
+ */
+function buscarTarjeta(videoId) {
+    return $('.video-col').filter(function() {
+        return $(this).attr('data-video-id') === String(videoId);
+    });
+}
+
+/**
+ * Agrega la tarjeta de un video al final del grid, si no está
+ */
+function agregarTarjeta(video) {
+    if (buscarTarjeta(video.id).length > 0) {
+        return;
+    }
+    $('#mensajeSinVideos').remove();
+
+    const tarjeta = $(`
+        <div class="col-md-6 col-lg-4 mb-4 video-col">
+            <div class="card h-100 shadow-sm video-card">
+                <div class="ratio ratio-16x9">
+                    <iframe title="Video player" allowfullscreen loading="lazy"></iframe>
+                </div>
+                <div class="card-body">
+                    <h5 class="card-title"></h5>
+                    <p class="card-text text-muted small">
+                        <i class="far fa-calendar me-1"></i>
+                        Agregado: <span class="fecha-agregado"></span>
+                    </p>
+                    <div class="d-flex justify-content-between align-items-center">
+                        <button class="btn btn-sm btn-outline-danger like-btn">
+                            <i class="fas fa-heart"></i>
+                            <span class="like-count"></span>
+                        </button>
+                        <button class="btn btn-sm favorito-btn btn-outline-warning">
+                            <i class="fas fa-star"></i>
+                        </button>
+                        <button class="btn btn-sm btn-outline-danger delete-btn">
+                            <i class="fas fa-trash"></i>
+                        </button>
+                    </div>
+                </div>
+            </div>
+        </div>
+    `);
+
+    // Los datos se asignan con .attr/.text para no interpretarlos como HTML
+    tarjeta.attr('data-video-id', video.id);
+    tarjeta.find('iframe').attr('src', video.link);
+    tarjeta.find('.card-title').text(video.nombre);
+    tarjeta.find('.fecha-agregado').text(formatearFecha(video.fechaAgregado));
+    tarjeta.find('.like-count').text(video.likes);
+    tarjeta.find('.like-btn').attr('data-video-id', video.id);
+    tarjeta.find('.favorito-btn').attr('data-video-id', video.id);
+    tarjeta.find('.delete-btn').attr('data-video-id', video.id).attr('data-video-nombre', video.nombre);
+    marcarFavorito(tarjeta.find('.favorito-btn'), video.favorito);
+
+    $('#gridVideos').append(tarjeta);
+}
+
+/**
+ * Quita la tarjeta de un video, si está en la página
+ */
+function quitarTarjeta(videoId) {
+    buscarTarjeta(videoId).fadeOut(300, function() {
+        $(this).remove();
+    });
+}
+
+/**
+ * Actualiza el contador de likes; nunca lo baja, porque la respuesta del like
+ * y el evento del servidor pueden llegar en cualquier orden
+ */
+function actualizarLikes(videoId, likes) {
+    const contador = buscarTarjeta(videoId).find('.like-count');
+    if (likes > parseInt(contador.text(), 10)) {
+        contador.text(likes);
+    }
+}
+
+/**
+ * Refleja el estado de favorito en el botón
+ */
+function marcarFavorito(boton, favorito) {
+    boton.toggleClass('btn-warning', favorito).toggleClass('btn-outline-warning', !favorito);
+}
+
+/**
+ * Vuelve a pedir las estadísticas, como mucho una vez por segundo
+ * (la respuesta es condicional: sin cambios el servidor contesta 304)
+ */
+let estadisticasProgramadas = false;
+function actualizarEstadisticas() {
+    if (estadisticasProgramadas || $('#stat-totalVideos').length === 0) {
+        return;
+    }
+    estadisticasProgramadas = true;
+    setTimeout(function() {
+        estadisticasProgramadas = false;
+        $.getJSON('/api/stats', function(stats) {
+            $('#stat-totalVideos').text(stats.totalVideos);
+            $('#stat-totalFavoritos').text(stats.totalFavoritos);
+            $('#stat-totalLikes').text(stats.totalLikes);
+        });
+    }, 1000);
+}
+
+/**
+ * Formatea una fecha ISO (2025-10-17T12:34:56) como dd/MM/yyyy HH:mm
+ */
+function formatearFecha(fecha) {
+    if (!fecha) {
+        return '';
+    }
+    return `${fecha.substring(8, 10)}/${fecha.substring(5, 7)}/${fecha.substring(0, 4)} ${fecha.substring(11, 16)}`;
+}
+
 /**
  * Valida si una URL es de YouTube
  */
@@ -0,0 +1,184 @@
+package com.playlist;
+
+import com.playlist.model.Video;
+import com.playlist.repository.JdbcVideoRepository;
+import com.playlist.repository.VideoPage;
+import com.playlist.repository.VideoRepository;
+import com.playlist.repository.VideoSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del repositorio sobre H2 en memoria
+ */
+@DisplayName("Tests del JdbcVideoRepository")
+class JdbcVideoRepositoryTest {
+
+    private VideoRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Una base distinta por test
+        repository = new JdbcVideoRepository(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    @DisplayName("Debería guardar, reemplazar y eliminar conservando el orden de inserción")
+    void testGuardarReemplazarEliminar() {
+        Video video1 = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video video2 = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+
+        video1.setNombre("Video 1 editado");
+        repository.save(video1);
+
+        assertEquals(List.of(video1, video2), repository.findAll());
+        assertEquals(video1, repository.findById(video1.getId()).orElseThrow());
+        assertTrue(repository.deleteById(video1.getId()));
+        assertFalse(repository.deleteById(video1.getId()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Debería resolver top, favoritos y estadísticas con consultas")
+    void testTopFavoritosYEstadisticas() {
+        Video antiguo = repository.save(new Video("Antiguo", "https://youtu.be/aaaaaaaaaaa"));
+        Video reciente = new Video("Reciente", "https://youtu.be/bbbbbbbbbbb");
+        reciente.setFechaAgregado(antiguo.getFechaAgregado().plusSeconds(1));
+        repository.save(reciente);
+        Video popular = repository.save(new Video("Popular", "https://youtu.be/ccccccccccc"));
+
+        repository.incrementarLikes(popular.getId());
+        repository.incrementarLikes(popular.getId());
+        repository.incrementarLikes(reciente.getId());
+        repository.incrementarLikes(antiguo.getId());
+        Video favorito = repository.toggleFavorito(reciente.getId()).orElseThrow();
+
+        assertTrue(favorito.isFavorito());
+        assertEquals(1, favorito.getLikes());
+        assertEquals(List.of("Popular", "Antiguo", "Reciente"),
+                repository.findTopByLikes(3).stream().map(Video::getNombre).toList());
+        assertEquals(List.of("Reciente"), repository.findFavoritos().stream().map(Video::getNombre).toList());
+        assertEquals(List.of("Reciente"), repository.findFavoritosPage(antiguo.getId(), 10).getVideos()
+                .stream().map(Video::getNombre).toList());
+        assertEquals(3, repository.count());
+        assertEquals(1, repository.countFavoritos());
+        assertEquals(4, repository.sumLikes());
+        assertTrue(repository.incrementarLikes("no-existe").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería paginar por cursor en orden de fecha, de likes y de id")
+    void testPaginacionPorCursor() {
+        List<String> nombres = new ArrayList<>();
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Video video = new Video("Video " + i, "https://youtu.be/aaaaaaaaaa" + i);
+            video.setFechaAgregado(video.getFechaAgregado().plusMinutes(i));
+            video.setLikes(i % 2);
+            videos.add(video);
+            nombres.add(video.getNombre());
+        }
+        repository.saveAll(videos);
+
+        assertEquals(nombres, recorrerPaginas(VideoSort.FECHA, 2));
+        assertEquals(List.of("Video 1", "Video 3", "Video 0", "Video 2", "Video 4"),
+                recorrerPaginas(VideoSort.LIKES, 2));
+        // Los ids UUIDv7 siguen el orden de creación
+        assertEquals(nombres, recorrerPaginas(VideoSort.ID, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.findPage(VideoSort.FECHA, "no-existe", 2));
+    }
+
+    @Test
+    @DisplayName("Debería buscar por id de YouTube con la columna indexada")
+    void testBuscarPorYoutubeId() {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video otro = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+
+        assertEquals(video.getId(), repository.findByYoutubeId("aaaaaaaaaaa").orElseThrow().getId());
+        assertTrue(repository.findByYoutubeId("ccccccccccc").isEmpty());
+
+        assertEquals(2, repository.deleteAllById(List.of(video.getId(), otro.getId())));
+        assertTrue(repository.findByYoutubeId("aaaaaaaaaaa").isEmpty());
+    }
+
+    @Test
+    @DisplayName("No debería perder likes concurrentes sobre el mismo video")
+    void testLikesConcurrentes() throws Exception {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        int hilos = 4;
+        int likesPorHilo = 200;
+        Set<Integer> totalesDevueltos = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        for (int i = 0; i < hilos; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < likesPorHilo; j++) {
+                    totalesDevueltos.add(repository.incrementarLikes(video.getId()).orElseThrow().getLikes());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(hilos * likesPorHilo, totalesDevueltos.size());
+        assertEquals(hilos * likesPorHilo, repository.findById(video.getId()).orElseThrow().getLikes());
+    }
+
+    private List<String> recorrerPaginas(VideoSort orden, int limite) {
+        List<String> recorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            VideoPage pagina = repository.findPage(orden, cursor, limite);
+            assertTrue(pagina.getVideos().size() <= limite);
+            pagina.getVideos().forEach(video -> recorridos.add(video.getNombre()));
+            cursor = pagina.getSiguiente();
+        } while (cursor != null);
+        return recorridos;
+    }
+
+    @Test
+    @DisplayName("Debería quitar el índice viejo de favoritos una sola vez")
+    void testMigracionIndiceFavorito() {
+        // Arrange: una base creada por una versión anterior, con idx_videos_favorito
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE videos (orden BIGINT GENERATED BY DEFAULT AS IDENTITY, id VARCHAR PRIMARY KEY,"
+                + " nombre VARCHAR, link VARCHAR, likes INT NOT NULL DEFAULT 0,"
+                + " favorito BOOLEAN NOT NULL DEFAULT FALSE, fecha_agregado TIMESTAMP(9))");
+        jdbc.execute("CREATE INDEX idx_videos_favorito ON videos (favorito)");
+
+        // Act
+        new JdbcVideoRepository(dataSource);
+        boolean despuesDeMigrar = existeIndice(jdbc, "IDX_VIDEOS_FAVORITO");
+        // Un índice con ese nombre creado después ya no se toca al volver a arrancar
+        jdbc.execute("CREATE INDEX idx_videos_favorito ON videos (favorito)");
+        new JdbcVideoRepository(dataSource);
+
+        // Assert
+        assertFalse(despuesDeMigrar);
+        assertTrue(existeIndice(jdbc, "IDX_VIDEOS_FAVORITO"));
+        assertEquals(1, jdbc.queryForObject("SELECT MAX(version) FROM schema_version", Integer.class));
+    }
+
+    private static boolean existeIndice(JdbcTemplate jdbc, String nombre) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?",
+                Integer.class, nombre) > 0;
+    }
+}
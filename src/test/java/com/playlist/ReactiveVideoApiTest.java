@@ -0,0 +1,196 @@
+package com.playlist;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.controller.ReactiveVideoController;
+import com.playlist.model.Video;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.ReactiveVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.VideoEventBroadcaster;
+import com.playlist.service.VideoSearchIndex;
+import com.playlist.service.VideoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la API reactiva (/rx/api) y de su fachada sobre el repositorio
+ */
+@DisplayName("Tests de la API reactiva")
+class ReactiveVideoApiTest {
+
+    private VideoRepository repository;
+    private ReactiveVideoRepository reactive;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryVideoRepository();
+        VideoService videoService = new VideoService(repository, new VideoSearchIndex(repository),
+                mock(VideoEventBroadcaster.class), new PlaylistProperties());
+        reactive = new ReactiveVideoRepository(repository, 2);
+        client = WebTestClient.bindToRouterFunction(new ReactiveVideoController(videoService, reactive).rutas())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactive.close();
+    }
+
+    @Test
+    @DisplayName("Debería emitir la playlist completa y el top por likes")
+    void testListarYTop() {
+        // Arrange
+        Video primero = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video segundo = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+        repository.incrementarLikes(segundo.getId());
+
+        // Act
+        List<Video> todos = client.get().uri("/rx/api/videos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(Video.class).getResponseBody().collectList().block();
+        List<Video> top = client.get().uri("/rx/api/videos/top/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Video.class).returnResult().getResponseBody();
+
+        // Assert
+        assertEquals(List.of(primero.getId(), segundo.getId()), todos.stream().map(Video::getId).toList());
+        assertEquals(1, top.size());
+        assertEquals(segundo.getId(), top.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Debería paginar con cursor y rechazar parámetros inválidos")
+    void testPaginar() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            repository.save(new Video("Video " + i, "https://youtu.be/video00000" + i));
+        }
+
+        // Act
+        String siguiente = client.get().uri("/rx/api/videos?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Video.class).hasSize(2)
+                .returnResult().getResponseHeaders().getFirst("X-Siguiente");
+
+        // Assert
+        assertNotNull(siguiente);
+        client.get().uri("/rx/api/videos?limit=2&after=" + siguiente)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Video.class).hasSize(1);
+        client.get().uri("/rx/api/videos?after=no-existe")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.success").isEqualTo(false);
+        client.get().uri("/rx/api/videos/top/muchos")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Debería agregar, dar like y responder 404 para un video inexistente")
+    void testEscrituras() {
+        // Act
+        client.post().uri("/rx/api/videos")
+                .body(BodyInserters.fromFormData("nombre", "Bohemian Rhapsody")
+                        .with("link", "https://www.youtube.com/watch?v=fJ9rUzIMcZQ"))
+                .exchange()
+                .expectStatus().isCreated();
+        String id = repository.findAll().get(0).getId();
+
+        // Assert
+        client.post().uri("/rx/api/videos/{id}/like", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.likes").isEqualTo(1);
+        client.post().uri("/rx/api/videos/{id}/like", "no-existe")
+                .exchange()
+                .expectStatus().isNotFound();
+        client.post().uri("/rx/api/videos")
+                .body(BodyInserters.fromFormData("nombre", "Sin link").with("link", "no es un link"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        assertEquals(1, repository.findById(id).orElseThrow().getLikes());
+    }
+
+    @Test
+    @DisplayName("Debería responder 304 mientras la playlist no cambie")
+    void testRespuestaCondicional() {
+        // Arrange
+        repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        String etag = client.get().uri("/rx/api/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+
+        // Act + Assert
+        client.get().uri("/rx/api/stats").ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED);
+        client.post().uri("/rx/api/videos")
+                .body(BodyInserters.fromFormData("nombre", "Video 2").with("link", "https://youtu.be/bbbbbbbbbbb"))
+                .exchange()
+                .expectStatus().isCreated();
+        client.get().uri("/rx/api/stats").ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.totalVideos").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debería recorrer el repositorio solo a medida que el suscriptor pide videos")
+    void testBackpressure() {
+        // Arrange
+        AtomicInteger leidos = new AtomicInteger();
+        VideoRepository grande = mock(VideoRepository.class);
+        when(grande.lecturasNoBloqueantes()).thenReturn(true);
+        when(grande.streamAll()).thenAnswer(invocation -> Stream.iterate(0, i -> i + 1)
+                .limit(10_000)
+                .peek(i -> leidos.incrementAndGet())
+                .map(i -> new Video("Video " + i, "https://youtu.be/aaaaaaaaaaa")));
+        ReactiveVideoRepository fachada = new ReactiveVideoRepository(grande, 1);
+        List<Video> recibidos = new ArrayList<>();
+
+        // Act
+        fachada.streamAll().subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(2);
+            }
+
+            @Override
+            protected void hookOnNext(Video video) {
+                recibidos.add(video);
+            }
+        });
+        fachada.close();
+
+        // Assert
+        assertEquals(2, recibidos.size());
+        // El iterador del stream mira un elemento por adelantado para detectar el final
+        assertTrue(leidos.get() <= 3, "Se leyeron " + leidos.get() + " videos");
+    }
+}
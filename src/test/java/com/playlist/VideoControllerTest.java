@@ -0,0 +1,66 @@
+package com.playlist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playlist.config.PlaylistProperties;
+import com.playlist.controller.VideoController;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.VideoEventBroadcaster;
+import com.playlist.service.VideoSearchIndex;
+import com.playlist.service.VideoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la API REST (/api) sobre un repositorio en memoria
+ */
+@DisplayName("Tests del VideoController")
+class VideoControllerTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        VideoRepository repository = new InMemoryVideoRepository();
+        VideoService videoService = new VideoService(repository, new VideoSearchIndex(repository),
+                mock(VideoEventBroadcaster.class), new PlaylistProperties());
+        mvc = MockMvcBuilders.standaloneSetup(
+                new VideoController(videoService, mock(VideoEventBroadcaster.class), new ObjectMapper())).build();
+    }
+
+    @Test
+    @DisplayName("Debería validar las respuestas condicionales solo con el ETag")
+    void testRespuestaCondicionalPorEtag() throws Exception {
+        // Arrange
+        String etag = mvc.perform(get("/api/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String fechaDelCliente = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusDays(1));
+
+        // Act + Assert: If-Modified-Since no da por vigente una respuesta vieja (un cambio en el mismo segundo)
+        mvc.perform(get("/api/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(post("/api/videos").param("nombre", "Video 1").param("link", "https://youtu.be/aaaaaaaaaaa"))
+                .andExpect(status().is2xxSuccessful());
+        mvc.perform(get("/api/stats").header(HttpHeaders.IF_MODIFIED_SINCE, fechaDelCliente))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalVideos").value(1));
+        mvc.perform(get("/api/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
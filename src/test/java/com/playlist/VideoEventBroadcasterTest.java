@@ -0,0 +1,202 @@
+package com.playlist;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.Video;
+import com.playlist.service.VideoEvent;
+import com.playlist.service.VideoEventBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la difusión de eventos por Server-Sent Events
+ */
+@DisplayName("Tests del VideoEventBroadcaster")
+class VideoEventBroadcasterTest {
+
+    private VideoEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getEvents().setBufferSize(4);
+        broadcaster = new VideoEventBroadcaster(Jackson2ObjectMapperBuilder.json().build(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.cerrar();
+    }
+
+    @Test
+    @DisplayName("Debería entregar los eventos en orden y con los likes de un video fusionados")
+    void testEntregarEventos() throws InterruptedException {
+        // Arrange
+        ClienteDePrueba cliente = new ClienteDePrueba(null);
+        broadcaster.suscribir(cliente, -1);
+        Video video = new Video("Bohemian Rhapsody", "https://www.youtube.com/watch?v=fJ9rUzIMcZQ");
+
+        // Act
+        broadcaster.publicar(VideoEvent.agregado(video));
+        for (int i = 1; i <= 50; i++) {
+            broadcaster.publicar(VideoEvent.likes(video.getId(), 1, i));
+        }
+        broadcaster.publicar(VideoEvent.eliminado(video.getId()));
+        esperar(() -> cliente.recibido().contains("event: eliminado"));
+
+        // Assert
+        String recibido = cliente.recibido();
+        assertTrue(recibido.indexOf("event: agregado") < recibido.indexOf("event: likes"));
+        assertTrue(recibido.contains("\"nombre\":\"Bohemian Rhapsody\""));
+        int likes = 0;
+        Matcher delta = Pattern.compile("\"delta\":(\\d+)").matcher(recibido);
+        while (delta.find()) {
+            likes += Integer.parseInt(delta.group(1));
+        }
+        assertEquals(50, likes);
+        assertTrue(recibido.contains("\"likes\":50"));
+        assertTrue(recibido.contains("id: 52\n"));
+    }
+
+    @Test
+    @DisplayName("Debería expulsar al cliente que no lee sin frenar a los demás")
+    void testExpulsarClienteLento() throws InterruptedException {
+        // Arrange
+        CountDownLatch bloqueo = new CountDownLatch(1);
+        ClienteDePrueba lento = new ClienteDePrueba(bloqueo);
+        ClienteDePrueba rapido = new ClienteDePrueba(null);
+        broadcaster.suscribir(lento, -1);
+        broadcaster.suscribir(rapido, -1);
+
+        // Act: un evento por lote (el cliente rápido lo recibe antes del siguiente),
+        // hasta llenar la cola del cliente lento
+        for (int i = 0; i < 100 && broadcaster.getExpulsados() == 0; i++) {
+            String id = "\"id\":\"video-" + i + "\"";
+            broadcaster.publicar(VideoEvent.favorito("video-" + i, true));
+            esperar(() -> rapido.recibido().contains(id));
+        }
+        bloqueo.countDown();
+        esperar(lento::completado);
+
+        // Assert
+        assertEquals(1, broadcaster.getExpulsados());
+        assertEquals(1, broadcaster.getSuscriptores());
+        assertFalse(rapido.completado());
+    }
+
+    @Test
+    @DisplayName("Debería expulsar solo a los clientes trabados aunque ocupen todos los hilos de envío")
+    void testAislarClientesTrabados() throws InterruptedException {
+        // Arrange: tantos clientes que nunca leen como hilos de envío, y cinco sanos
+        broadcaster.cerrar();
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getEvents().setBufferSize(4);
+        properties.getEvents().setWriteTimeoutMs(200);
+        broadcaster = new VideoEventBroadcaster(Jackson2ObjectMapperBuilder.json().build(), properties);
+        CountDownLatch bloqueo = new CountDownLatch(1);
+        List<ClienteDePrueba> trabados = List.of(new ClienteDePrueba(bloqueo), new ClienteDePrueba(bloqueo));
+        List<ClienteDePrueba> sanos = IntStream.range(0, 5).mapToObj(i -> new ClienteDePrueba(null)).toList();
+        trabados.forEach(cliente -> broadcaster.suscribir(cliente, -1));
+        sanos.forEach(cliente -> broadcaster.suscribir(cliente, -1));
+
+        try {
+            // Act: un lote por evento durante más tiempo que el plazo de escritura
+            for (int i = 1; i <= 60; i++) {
+                broadcaster.publicar(VideoEvent.favorito("video-" + i, true));
+                Thread.sleep(10);
+            }
+            esperar(() -> sanos.stream().allMatch(cliente -> cliente.recibido().contains("id: 60\n")));
+
+            // Assert
+            assertEquals(2, broadcaster.getExpulsados());
+            assertEquals(sanos.size(), broadcaster.getSuscriptores());
+            sanos.forEach(cliente -> assertFalse(cliente.completado()));
+        } finally {
+            bloqueo.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería pedir recargar solo al cliente que se perdió eventos")
+    void testRecargarAlReconectar() throws InterruptedException {
+        // Arrange
+        ClienteDePrueba conectado = new ClienteDePrueba(null);
+        broadcaster.suscribir(conectado, -1);
+        broadcaster.publicar(VideoEvent.favorito("video-1", true));
+        esperar(() -> conectado.recibido().contains("id: 1\n"));
+
+        // Act
+        ClienteDePrueba alDia = new ClienteDePrueba(null);
+        ClienteDePrueba atrasado = new ClienteDePrueba(null);
+        broadcaster.suscribir(alDia, 1);
+        broadcaster.suscribir(atrasado, 0);
+        esperar(() -> atrasado.recibido().contains("event: recargar"));
+        broadcaster.publicar(VideoEvent.eliminado("video-1"));
+        esperar(() -> alDia.recibido().contains("event: eliminado"));
+
+        // Assert
+        assertFalse(alDia.recibido().contains("event: recargar"));
+        assertFalse(conectado.recibido().contains("event: recargar"));
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Tiempo de espera agotado");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Emitter que acumula lo enviado; con un latch, cada envío se bloquea hasta liberarlo
+     */
+    private static class ClienteDePrueba extends SseEmitter {
+
+        private final StringBuffer recibido = new StringBuffer();
+        private final CountDownLatch bloqueo;
+        private volatile boolean completado;
+
+        ClienteDePrueba(CountDownLatch bloqueo) {
+            this.bloqueo = bloqueo;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            if (bloqueo != null) {
+                try {
+                    bloqueo.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            items.forEach(item -> recibido.append(item.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+        }
+
+        String recibido() {
+            return recibido.toString();
+        }
+
+        boolean completado() {
+            return completado;
+        }
+    }
+}
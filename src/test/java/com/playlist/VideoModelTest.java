@@ -1,10 +1,23 @@
 package com.playlist;
 
+import com.playlist.model.IdGenerator;
 import com.playlist.model.Video;
+import com.playlist.model.VideoId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -94,17 +107,97 @@ class VideoModelTest {
         assertTrue(video1.getLink().contains("dQw4w9WgXcQ"));
     }
 
+    @Test
+    @DisplayName("Debería conservar id, link y fecha con la representación compacta")
+    void testRepresentacionCompacta() {
+        LocalDateTime fecha = LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999);
+        Video uuid = new Video("3f2b8c1e-6a4d-4e2f-9b1a-0c5d7e8f9a0b", "Video 1",
+                "https://www.youtube.com/embed/dQw4w9WgXcQ", 0, false, fecha);
+        Video mayusculas = new Video("3F2B8C1E-6A4D-4E2F-9B1A-0C5D7E8F9A0B", "Video 2",
+                "https://youtu.be/dQw4w9WgXcQ", 0, false, null);
+
+        assertEquals("3f2b8c1e-6a4d-4e2f-9b1a-0c5d7e8f9a0b", uuid.getId());
+        assertEquals("https://www.youtube.com/embed/dQw4w9WgXcQ", uuid.getLink());
+        assertEquals(fecha, uuid.getFechaAgregado());
+        // Lo que no está en forma canónica se conserva tal cual
+        assertEquals("3F2B8C1E-6A4D-4E2F-9B1A-0C5D7E8F9A0B", mayusculas.getId());
+        assertEquals("https://youtu.be/dQw4w9WgXcQ", mayusculas.getLink());
+        assertEquals("dQw4w9WgXcQ", mayusculas.getVideoIdParaEmbed());
+        assertNull(mayusculas.getFechaAgregado());
+        assertEquals(uuid, new Video(uuid));
+        assertTrue(uuid.compararId(mayusculas) > 0);
+    }
+
+    @Test
+    @DisplayName("Debería compartir la clave compacta entre copias y armar el texto del id una sola vez")
+    void testClaveCompacta() {
+        // Arrange
+        String texto = "3f2b8c1e-6a4d-4e2f-9b1a-0c5d7e8f9a0b";
+        Video original = new Video(texto, "Video 1", "https://youtu.be/dQw4w9WgXcQ", 0, false, null);
+
+        // Act
+        Video copia = new Video(original);
+        String id = copia.getId();
+
+        // Assert
+        assertSame(original.clave(), copia.clave());
+        assertSame(id, copia.getId());
+        assertTrue(original.clave().esUuid());
+        assertEquals(VideoId.de(texto), original.clave());
+        assertEquals(VideoId.de(texto).hashCode(), original.clave().hashCode());
+        assertNotEquals(VideoId.de(texto.toUpperCase()), original.clave());
+        assertEquals("no-es-un-uuid", VideoId.de("no-es-un-uuid").toString());
+        // Mismo orden que los textos, aunque se mezclen UUID y otros ids
+        List<String> textos = List.of(texto, "zzz", "00000000-0000-0000-0000-000000000000",
+                "ffffffff-0000-7000-8000-000000000000", "3F2B8C1E-6A4D-4E2F-9B1A-0C5D7E8F9A0B");
+        List<String> ordenados = new ArrayList<>(textos);
+        Collections.sort(ordenados);
+        assertEquals(ordenados, textos.stream().map(VideoId::de).sorted().map(VideoId::toString).toList());
+    }
+
     @Test
     @DisplayName("Debería generar IDs únicos para cada video")
     void testIdsUnicos() {
-        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=test1");
-        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=test2");
+        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=testVideo01");
+        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=testVideo02");
 
         assertNotNull(video1.getId());
         assertNotNull(video2.getId());
         assertNotEquals(video1.getId(), video2.getId());
     }
 
+    @Test
+    @DisplayName("Debería generar ids UUIDv7 únicos y ordenados aun desde varios hilos")
+    void testIdsUuidV7Ordenados() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> tareas = new ArrayList<>();
+        for (int hilo = 0; hilo < 4; hilo++) {
+            tareas.add(executor.submit(() -> {
+                List<String> ids = new ArrayList<>();
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(new Video("Video", "https://youtu.be/dQw4w9WgXcQ").getId());
+                }
+                return ids;
+            }));
+        }
+
+        Set<String> todos = new HashSet<>();
+        for (Future<List<String>> tarea : tareas) {
+            List<String> ids = tarea.get();
+            // Cada hilo ve sus ids en orden creciente
+            List<String> ordenados = new ArrayList<>(ids);
+            Collections.sort(ordenados);
+            assertEquals(ordenados, ids);
+            todos.addAll(ids);
+        }
+        executor.shutdown();
+
+        assertEquals(40_000, todos.size());
+        assertEquals(7, UUID.fromString(video.getId()).version());
+        assertEquals(4, new Video("Video", "https://youtu.be/dQw4w9WgXcQ", IdGenerator.ALEATORIO)
+                .getId().charAt(14) - '0');
+    }
+
     @Test
     @DisplayName("Debería tener fecha de agregado")
     void testFechaAgregado() {
@@ -0,0 +1,600 @@
+package com.playlist;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.Video;
+import com.playlist.repository.FileVideoRepository;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.JsonVideoCodec;
+import com.playlist.repository.MappedCompaction;
+import com.playlist.repository.PersistenceMode;
+import com.playlist.repository.SnapshotMigration;
+import com.playlist.repository.StorageFormat;
+import com.playlist.repository.VideoPage;
+import com.playlist.repository.VideoRepository;
+import com.playlist.repository.VideoSort;
+import com.playlist.repository.WriteBatcherMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del repositorio en memoria respaldado por archivo
+ */
+@DisplayName("Tests del VideoRepository")
+class VideoRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dataFile;
+    private VideoRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataFile = tempDir.resolve("videos.json");
+        repository = new FileVideoRepository(dataFile);
+    }
+
+    @Test
+    @DisplayName("Debería guardar y recuperar un video por ID")
+    void testGuardarYBuscar() {
+        Video video = repository.save(new Video("Video 1", "https://www.youtube.com/watch?v=dQw4w9WgXcQ"));
+
+        Optional<Video> encontrado = repository.findById(video.getId());
+
+        assertTrue(encontrado.isPresent());
+        assertEquals(video, encontrado.get());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Debería devolver copias que no alteran el almacén hasta guardar")
+    void testCopiasDefensivas() {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/dQw4w9WgXcQ"));
+
+        Video copia = repository.findById(video.getId()).orElseThrow();
+        copia.agregarLike();
+
+        assertEquals(0, repository.findById(video.getId()).orElseThrow().getLikes());
+
+        repository.save(copia);
+        assertEquals(1, repository.findById(video.getId()).orElseThrow().getLikes());
+    }
+
+    @Test
+    @DisplayName("Debería mantener actualizado el índice de favoritos")
+    void testIndiceFavoritos() {
+        Video video1 = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+
+        video1.toggleFavorito();
+        repository.save(video1);
+        assertEquals(List.of(video1), repository.findFavoritos());
+
+        video1.toggleFavorito();
+        repository.save(video1);
+        assertTrue(repository.findFavoritos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería paginar los favoritos por fecha de agregado")
+    void testPaginacionFavoritos() {
+        List<String> favoritos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Video video = new Video("Video " + i, "https://youtu.be/aaaaaaaaaa" + i);
+            // Se agregan en orden inverso a su fecha
+            video.setFechaAgregado(video.getFechaAgregado().minusMinutes(i));
+            repository.save(video);
+            if (i % 2 == 0) {
+                repository.toggleFavorito(video.getId());
+                favoritos.add(0, video.getNombre());
+            }
+        }
+
+        VideoPage primera = repository.findFavoritosPage(null, 2);
+        VideoPage segunda = repository.findFavoritosPage(primera.getSiguiente(), 2);
+
+        assertEquals(favoritos.subList(0, 2), primera.getVideos().stream().map(Video::getNombre).toList());
+        assertEquals(favoritos.subList(2, 3), segunda.getVideos().stream().map(Video::getNombre).toList());
+        assertNull(segunda.getSiguiente());
+        assertEquals(favoritos, repository.findFavoritos().stream().map(Video::getNombre).toList());
+    }
+
+    @Test
+    @DisplayName("Debería recargar desde el archivo los datos persistidos")
+    void testRecargarDesdeArchivo() {
+        Video video1 = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video video2 = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+        repository.deleteById(video1.getId());
+
+        VideoRepository recargado = new FileVideoRepository(dataFile);
+
+        assertEquals(List.of(video2), recargado.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería registrar las mutaciones en el log sin reescribir el snapshot")
+    void testMutacionesEnLog() throws Exception {
+        String snapshotInicial = Files.readString(dataFile);
+
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        video.agregarLike();
+        repository.save(video);
+
+        assertEquals(snapshotInicial, Files.readString(dataFile));
+        List<String> registros = Files.readAllLines(tempDir.resolve("videos.log"));
+        assertEquals(2, registros.size());
+        assertTrue(registros.get(1).contains("\"LIKES\""));
+    }
+
+    @Test
+    @DisplayName("Debería descartar un último registro incompleto al reproducir el log")
+    void testRegistroIncompletoAlFinal() throws Exception {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        repository.close();
+        Files.writeString(tempDir.resolve("videos.log"), "{\"tipo\":\"ELIM",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        VideoRepository recargado = new FileVideoRepository(dataFile);
+
+        assertEquals(List.of(video), recargado.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un registro del log sin los datos de su tipo")
+    void testRegistroInvalidoEnElLog() throws Exception {
+        // Arrange: registros que son JSON válido pero no mutaciones aplicables
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        repository.close();
+        Path logPath = tempDir.resolve("videos.log");
+        List<String> registros = Files.readAllLines(logPath);
+
+        // Act
+        Files.write(logPath, List.of(registros.get(0), "{\"tipo\":\"LIKES\",\"id\":\"" + video.getId() + "\"}",
+                "{\"tipo\":\"ELIMINAR\",\"id\":\"" + video.getId() + "\"}"));
+        IllegalStateException enElMedio = assertThrows(IllegalStateException.class,
+                () -> new FileVideoRepository(dataFile));
+        Files.write(logPath, List.of(registros.get(0), "{\"id\":\"" + video.getId() + "\"}"));
+        VideoRepository recargado = new FileVideoRepository(dataFile);
+
+        // Assert: en el medio del log es corrupción; al final, un registro incompleto que se descarta
+        assertTrue(enElMedio.getMessage().contains("línea 2"));
+        assertEquals(List.of(video), recargado.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería ignorar un snapshot temporal a medio escribir")
+    void testSnapshotTemporalInterrumpido() throws Exception {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        repository.close();
+        Path temporal = tempDir.resolve("videos.json.tmp");
+        Files.writeString(temporal, "[{\"id\":", StandardCharsets.UTF_8);
+
+        VideoRepository recargado = new FileVideoRepository(dataFile);
+
+        assertEquals(List.of(video), recargado.findAll());
+        assertFalse(Files.exists(temporal));
+    }
+
+    @Test
+    @DisplayName("No debería perder likes concurrentes sobre el mismo video")
+    void testLikesConcurrentes() throws Exception {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        int hilos = 8;
+        int likesPorHilo = 1000;
+        Set<Integer> totalesDevueltos = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        for (int i = 0; i < hilos; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < likesPorHilo; j++) {
+                    totalesDevueltos.add(repository.incrementarLikes(video.getId()).orElseThrow().getLikes());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Cada llamada recibe un total distinto y ninguno se pierde, tampoco al persistir
+        assertEquals(hilos * likesPorHilo, totalesDevueltos.size());
+        assertEquals(hilos * likesPorHilo, repository.findById(video.getId()).orElseThrow().getLikes());
+        repository.close();
+        assertEquals(hilos * likesPorHilo,
+                new FileVideoRepository(dataFile).findById(video.getId()).orElseThrow().getLikes());
+    }
+
+    @Test
+    @DisplayName("No debería contar likes de videos que se eliminan mientras reciben likes")
+    void testLikesConcurrentesConEliminacion() throws Exception {
+        // Arrange
+        VideoRepository enMemoria = new InMemoryVideoRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int ronda = 0; ronda < 200; ronda++) {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ids.add(enMemoria.save(new Video("Video " + i, "https://youtu.be/video" + String.format("%06d", i)))
+                        .getId());
+            }
+
+            // Act: tres hilos dan likes mientras otro elimina los videos
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int hilo = 0; hilo < 3; hilo++) {
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        enMemoria.incrementarLikes(ids.get(i % ids.size()));
+                    }
+                }));
+            }
+            tareas.add(executor.submit(() -> ids.forEach(enMemoria::deleteById)));
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+
+            // Assert
+            assertEquals(0, enMemoria.count());
+            assertEquals(0, enMemoria.sumLikes(), "Likes fantasma en la ronda " + ronda);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería fusionar en un lote los likes y favoritos de un mismo video")
+    void testAgrupacionDeEscrituras() {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        for (int i = 0; i < 50; i++) {
+            repository.incrementarLikes(video.getId());
+        }
+        repository.toggleFavorito(video.getId());
+        repository.close();
+
+        WriteBatcherMetrics metricas = repository.getMetricasEscritura();
+        assertEquals(51, metricas.getCambiosRecibidos());
+        assertTrue(metricas.getVideosEscritos() < 51);
+        assertEquals(0, metricas.getProfundidadCola());
+
+        Video recargado = new FileVideoRepository(dataFile).findById(video.getId()).orElseThrow();
+        assertEquals(50, recargado.getLikes());
+        assertTrue(recargado.isFavorito());
+    }
+
+    @Test
+    @DisplayName("Debería mantener el ranking por likes con desempate por fecha")
+    void testTopPorLikes() {
+        Video antiguo = repository.save(new Video("Antiguo", "https://youtu.be/aaaaaaaaaaa"));
+        Video reciente = repository.save(new Video("Reciente", "https://youtu.be/bbbbbbbbbbb"));
+        Video popular = repository.save(new Video("Popular", "https://youtu.be/ccccccccccc"));
+        reciente.setFechaAgregado(antiguo.getFechaAgregado().plusSeconds(1));
+        repository.save(reciente);
+
+        repository.incrementarLikes(popular.getId());
+        repository.incrementarLikes(popular.getId());
+        repository.incrementarLikes(reciente.getId());
+        repository.incrementarLikes(antiguo.getId());
+
+        List<String> top = repository.findTopByLikes(3).stream().map(Video::getNombre).toList();
+        assertEquals(List.of("Popular", "Antiguo", "Reciente"), top);
+
+        repository.deleteById(popular.getId());
+        assertEquals(List.of("Antiguo"), repository.findTopByLikes(1).stream().map(Video::getNombre).toList());
+    }
+
+    @Test
+    @DisplayName("Debería mantener los contadores de estadísticas en cada mutación")
+    void testContadoresEstadisticas() {
+        Video video1 = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video video2 = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+        repository.incrementarLikes(video1.getId());
+        repository.incrementarLikes(video2.getId());
+        repository.incrementarLikes(video2.getId());
+        repository.toggleFavorito(video2.getId());
+
+        assertEquals(2, repository.count());
+        assertEquals(1, repository.countFavoritos());
+        assertEquals(3, repository.sumLikes());
+
+        repository.deleteById(video2.getId());
+        assertEquals(1, repository.count());
+        assertEquals(0, repository.countFavoritos());
+        assertEquals(1, repository.sumLikes());
+
+        repository.close();
+        VideoRepository recargado = new FileVideoRepository(dataFile);
+        assertEquals(1, recargado.sumLikes());
+    }
+
+    @Test
+    @DisplayName("Debería paginar por cursor en orden de fecha, de likes y de id")
+    void testPaginacionPorCursor() {
+        List<String> nombres = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Video video = new Video("Video " + i, "https://youtu.be/aaaaaaaaaa" + i);
+            video.setFechaAgregado(video.getFechaAgregado().plusMinutes(i));
+            video.setLikes(i);
+            repository.save(video);
+            nombres.add(video.getNombre());
+        }
+
+        assertEquals(nombres, recorrerPaginas(VideoSort.FECHA, 2));
+
+        List<String> porLikes = new ArrayList<>(nombres);
+        Collections.reverse(porLikes);
+        assertEquals(porLikes, recorrerPaginas(VideoSort.LIKES, 2));
+        // Los ids UUIDv7 siguen el orden de creación
+        assertEquals(nombres, recorrerPaginas(VideoSort.ID, 2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.findPage(VideoSort.FECHA, "no-existe", 2));
+    }
+
+    @Test
+    @DisplayName("Debería escribir el snapshot JSON con el mismo formato de siempre")
+    void testFormatoJsonHistorico() throws Exception {
+        Video video = new Video("3f2b8c1e-6a4d-4e2f-9b1a-0c5d7e8f9a0b", "Video 1",
+                "https://www.youtube.com/embed/dQw4w9WgXcQ", 2, true,
+                LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456789));
+        Video otro = new Video("id-libre", "Video 2", "https://vimeo.com/1", 0, false, null);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        new JsonVideoCodec().escribir(List.of(video, otro), salida);
+
+        String esperado = """
+                [
+                  {
+                    "id": "3f2b8c1e-6a4d-4e2f-9b1a-0c5d7e8f9a0b",
+                    "nombre": "Video 1",
+                    "link": "https://www.youtube.com/embed/dQw4w9WgXcQ",
+                    "likes": 2,
+                    "favorito": true,
+                    "fechaAgregado": "2024-05-01T12:30:15.123456789"
+                  },
+                  {
+                    "id": "id-libre",
+                    "nombre": "Video 2",
+                    "link": "https://vimeo.com/1",
+                    "likes": 0,
+                    "favorito": false
+                  }
+                ]""";
+        assertEquals(esperado, salida.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of(video, otro),
+                new JsonVideoCodec().leer(new ByteArrayInputStream(salida.toByteArray())));
+    }
+
+    @Test
+    @DisplayName("Debería guardar y recargar el snapshot en formato binario")
+    void testFormatoBinario() {
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getPersistence().setDataFile(tempDir.resolve("videos.bin").toString());
+        properties.getPersistence().setFormat(StorageFormat.BINARY);
+        properties.getPersistence().setCompactEvery(1);
+
+        VideoRepository binario = new FileVideoRepository(properties);
+        Video video = new Video("Canción ñandú", "https://youtu.be/aaaaaaaaaaa");
+        video.setFechaAgregado(video.getFechaAgregado().truncatedTo(ChronoUnit.MILLIS));
+        video.setLikes(7);
+        video.setFavorito(true);
+        binario.save(video);
+        Video idLibre = binario.save(new Video("id-libre", "Sin UUID", "https://youtu.be/bbbbbbbbbbb",
+                0, false, video.getFechaAgregado()));
+        binario.close();
+
+        VideoRepository recargado = new FileVideoRepository(properties);
+
+        assertEquals(List.of(video, idLibre), recargado.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería migrar el snapshot JSON con su log a formato binario")
+    void testMigracionJsonABinario() {
+        Video video = new Video("Video 1", "https://youtu.be/aaaaaaaaaaa");
+        video.setFechaAgregado(video.getFechaAgregado().truncatedTo(ChronoUnit.MILLIS));
+        repository.save(video);
+        repository.incrementarLikes(video.getId());
+        repository.close();
+        Path destino = tempDir.resolve("videos.bin");
+
+        int migrados = SnapshotMigration.migrar(dataFile, StorageFormat.JSON,
+                destino, SnapshotMigration.formatoDe(destino));
+
+        assertEquals(1, migrados);
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getPersistence().setDataFile(destino.toString());
+        properties.getPersistence().setFormat(StorageFormat.BINARY);
+        assertEquals(1, new FileVideoRepository(properties).findById(video.getId()).orElseThrow().getLikes());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar en su lugar el almacén mapeado y reutilizar slots libres")
+    void testAlmacenMapeado() throws Exception {
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getPersistence().setDataFile(dataFile.toString());
+        properties.getPersistence().setMode(PersistenceMode.MAPPED);
+
+        VideoRepository mapeado = new FileVideoRepository(properties);
+        Video video1 = mapeado.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video video2 = mapeado.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+        mapeado.close();
+        Path segmento = tempDir.resolve("videos.0.data");
+        long datosIniciales = Files.size(segmento);
+
+        mapeado = new FileVideoRepository(properties);
+        for (int i = 0; i < 100; i++) {
+            mapeado.incrementarLikes(video2.getId());
+        }
+        mapeado.toggleFavorito(video2.getId());
+        mapeado.deleteById(video1.getId());
+        Video video3 = mapeado.save(new Video("Video 3", "https://youtu.be/ccccccccccc"));
+        mapeado.close();
+
+        // Likes y favoritos no agregan datos; el slot de video1 se reutiliza
+        long slots = Files.size(tempDir.resolve("videos.slots"));
+        VideoRepository recargado = new FileVideoRepository(properties);
+        assertEquals(List.of(video2.getId(), video3.getId()),
+                recargado.findAll().stream().map(Video::getId).toList());
+        Video likeado = recargado.findById(video2.getId()).orElseThrow();
+        assertEquals(100, likeado.getLikes());
+        assertTrue(likeado.isFavorito());
+        assertEquals(video2.getFechaAgregado(), likeado.getFechaAgregado());
+        assertTrue(Files.size(segmento) > datosIniciales);
+        assertEquals(slots, Files.size(tempDir.resolve("videos.slots")));
+        recargado.close();
+
+        assertTrue(MappedCompaction.compactar(dataFile) > 0);
+        assertFalse(Files.exists(segmento));
+        assertEquals(List.of(likeado, recargado.findById(video3.getId()).orElseThrow()),
+                new FileVideoRepository(properties).findAll());
+    }
+
+    @Test
+    @DisplayName("Debería importar el snapshot existente al pasar al almacén mapeado")
+    void testImportarAlAlmacenMapeado() {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        repository.close();
+
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getPersistence().setDataFile(dataFile.toString());
+        properties.getPersistence().setMode(PersistenceMode.MAPPED);
+
+        assertEquals(List.of(video), new FileVideoRepository(properties).findAll());
+    }
+
+    @Test
+    @DisplayName("Debería repetir la importación al almacén mapeado si se interrumpió")
+    void testImportacionInterrumpida() throws Exception {
+        // Arrange: dos videos en el log del modo anterior, con un registro corrupto en el medio
+        Video video1 = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video video2 = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+        repository.close();
+        Path logPath = tempDir.resolve("videos.log");
+        List<String> registros = Files.readAllLines(logPath);
+        Files.write(logPath, List.of(registros.get(0), "{\"tipo\":", registros.get(1)));
+
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getPersistence().setDataFile(dataFile.toString());
+        properties.getPersistence().setMode(PersistenceMode.MAPPED);
+
+        // Act: la importación falla a mitad de camino
+        assertThrows(IllegalStateException.class, () -> new FileVideoRepository(properties));
+
+        // Se arregla el log y quedan restos de una escritura cortada por un crash
+        Files.write(logPath, registros);
+        Files.writeString(tempDir.resolve("videos.slots.tmp"), "PLSL", StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("videos.0.data"), "basura", StandardCharsets.UTF_8);
+        VideoRepository mapeado = new FileVideoRepository(properties);
+
+        // Assert
+        assertFalse(Files.exists(tempDir.resolve("videos.slots.tmp")));
+        assertEquals(List.of(video1, video2), mapeado.findAll());
+        mapeado.close();
+        assertEquals(List.of(video1, video2), new FileVideoRepository(properties).findAll());
+    }
+
+    @Test
+    @DisplayName("Debería traer los datos de la ubicación anterior si la nueva está vacía")
+    void testDatosEnUbicacionAnterior() throws Exception {
+        // Arrange: datos en el directorio de una versión anterior (snapshot y log)
+        Video video1 = repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        Video video2 = repository.save(new Video("Video 2", "https://youtu.be/bbbbbbbbbbb"));
+        repository.close();
+        Path nuevo = tempDir.resolve("nuevo").resolve("videos.json");
+        Files.createDirectories(nuevo.getParent());
+        Files.writeString(nuevo.resolveSibling(".copiando-datos-anteriores"), "", StandardCharsets.UTF_8);
+        Files.copy(dataFile, nuevo);
+
+        // Act: una copia cortada que se completa, y un segundo arranque que ya no copia nada
+        int copiados = FileVideoRepository.traerDatosAnteriores(nuevo, tempDir);
+        Files.writeString(tempDir.resolve("videos.log"), "", StandardCharsets.UTF_8);
+        int segundaVez = FileVideoRepository.traerDatosAnteriores(nuevo, tempDir);
+
+        // Assert
+        assertEquals(1, copiados);
+        assertEquals(0, segundaVez);
+        assertFalse(Files.exists(nuevo.resolveSibling(".copiando-datos-anteriores")));
+        assertEquals(List.of(video1, video2), new FileVideoRepository(nuevo).findAll());
+        assertTrue(Files.exists(dataFile));
+    }
+
+    @Test
+    @DisplayName("No debería copiar datos anteriores si la ubicación nueva ya tiene los suyos")
+    void testUbicacionNuevaConDatos() throws Exception {
+        // Arrange
+        repository.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        repository.close();
+        Path nuevo = tempDir.resolve("nuevo").resolve("videos.json");
+        VideoRepository enUbicacionNueva = new FileVideoRepository(nuevo);
+        enUbicacionNueva.close();
+
+        // Act
+        int copiados = FileVideoRepository.traerDatosAnteriores(nuevo, tempDir);
+
+        // Assert
+        assertEquals(0, copiados);
+        assertEquals(List.of(), new FileVideoRepository(nuevo).findAll());
+    }
+
+    @Test
+    @DisplayName("Debería mantener el índice por id de YouTube al guardar, reemplazar y eliminar")
+    void testIndicePorYoutubeId() {
+        Video video = repository.save(new Video("Video 1", "https://youtu.be/dQw4w9WgXcQ"));
+        Video otro = repository.save(new Video("Video 2", "https://youtu.be/fJ9rUzIMcZQ"));
+
+        assertEquals(video, repository.findByYoutubeId("dQw4w9WgXcQ").orElseThrow());
+
+        // Al cambiar el link, el video pasa a la nueva clave
+        video.setLink("https://www.youtube.com/embed/aaaaaaaaaaa");
+        repository.save(video);
+        assertTrue(repository.findByYoutubeId("dQw4w9WgXcQ").isEmpty());
+        assertEquals(video.getId(), repository.findByYoutubeId("aaaaaaaaaaa").orElseThrow().getId());
+
+        assertEquals(1, repository.deleteAllById(List.of(otro.getId(), "inexistente")));
+        assertTrue(repository.findByYoutubeId("fJ9rUzIMcZQ").isEmpty());
+        assertTrue(new FileVideoRepository(dataFile).findByYoutubeId("aaaaaaaaaaa").isPresent());
+    }
+
+    @Test
+    @DisplayName("Debería funcionar sin persistencia con el repositorio en memoria")
+    void testRepositorioEnMemoria() {
+        VideoRepository enMemoria = new InMemoryVideoRepository();
+        Video video = enMemoria.save(new Video("Video 1", "https://youtu.be/aaaaaaaaaaa"));
+        enMemoria.incrementarLikes(video.getId());
+        enMemoria.close();
+
+        assertEquals(1, enMemoria.findById(video.getId()).orElseThrow().getLikes());
+        assertEquals(0, new InMemoryVideoRepository().count());
+    }
+
+    private List<String> recorrerPaginas(VideoSort orden, int limite) {
+        List<String> recorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            VideoPage pagina = repository.findPage(orden, cursor, limite);
+            assertTrue(pagina.getVideos().size() <= limite);
+            pagina.getVideos().forEach(video -> recorridos.add(video.getNombre()));
+            cursor = pagina.getSiguiente();
+        } while (cursor != null);
+        return recorridos;
+    }
+}
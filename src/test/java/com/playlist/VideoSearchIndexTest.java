@@ -0,0 +1,105 @@
+package com.playlist;
+
+import com.playlist.model.Video;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.VideoSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del índice invertido de búsqueda por nombre
+ */
+@DisplayName("Tests del VideoSearchIndex")
+class VideoSearchIndexTest {
+
+    private VideoSearchIndex index;
+    private Video cancion;
+    private Video corazon;
+    private Video rapsodia;
+
+    @BeforeEach
+    void setUp() {
+        VideoRepository repository = new InMemoryVideoRepository();
+        cancion = repository.save(new Video("Canción del Corazón", "https://youtu.be/aaaaaaaaaaa"));
+        corazon = repository.save(new Video("CORAZÓN partío", "https://youtu.be/bbbbbbbbbbb"));
+        rapsodia = repository.save(new Video("Bohemian Rhapsody", "https://youtu.be/ccccccccccc"));
+        index = new VideoSearchIndex(repository);
+    }
+
+    @Test
+    @DisplayName("Debería construirse con los videos del repositorio")
+    void testConstruccionInicial() {
+        assertEquals(3, index.size());
+        assertEquals(List.of(rapsodia.getId()), index.buscar("bohemian", 10));
+    }
+
+    @Test
+    @DisplayName("Debería ignorar tildes y mayúsculas en nombres y consultas")
+    void testNormalizacion() {
+        assertEquals(List.of(cancion.getId()), index.buscar("CANCION", 10));
+        assertEquals(List.of(cancion.getId()), index.buscar("canción", 10));
+        assertEquals(2, index.buscar("corazon", 10).size());
+    }
+
+    @Test
+    @DisplayName("Debería encontrar por prefijo para el autocompletado")
+    void testPrefijo() {
+        assertEquals(List.of(rapsodia.getId()), index.buscar("boh", 10));
+        assertEquals(List.of(rapsodia.getId()), index.buscar("bohemian rhap", 10));
+        assertTrue(index.buscar("xyz", 10).isEmpty());
+        assertTrue(index.buscar("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería ordenar por términos coincidentes y luego por likes")
+    void testRanking() {
+        // Ambos tienen "corazón"; solo "Canción del Corazón" tiene además "canción"
+        index.actualizarLikes(corazon.getId(), 10);
+        assertEquals(List.of(corazon.getId(), cancion.getId()), index.buscar("corazon", 10));
+        assertEquals(List.of(cancion.getId(), corazon.getId()), index.buscar("corazon cancion", 10));
+        assertEquals(List.of(corazon.getId()), index.buscar("corazon", 1));
+    }
+
+    @Test
+    @DisplayName("Debería actualizarse al agregar y quitar videos")
+    void testActualizacionIncremental() {
+        Video nuevo = new Video("Corazón espinado", "https://youtu.be/ddddddddddd");
+        index.agregar(nuevo);
+        assertTrue(index.buscar("espin", 10).contains(nuevo.getId()));
+
+        index.quitar(nuevo.getId());
+        index.quitar(corazon.getId());
+        assertTrue(index.buscar("espin", 10).isEmpty());
+        assertEquals(List.of(cancion.getId()), index.buscar("corazon", 10));
+    }
+
+    @Test
+    @DisplayName("Debería crecer y reutilizar documentos al quitar videos")
+    void testCrecimientoYReutilizacion() {
+        List<Video> agregados = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Video video = new Video("Tema " + i, "https://youtu.be/eeeeeeeeeee");
+            video.setLikes(i);
+            index.agregar(video);
+            agregados.add(video);
+        }
+        for (int i = 0; i < 3000; i += 2) {
+            index.quitar(agregados.get(i).getId());
+        }
+        Video reemplazo = new Video("Tema nuevo", "https://youtu.be/fffffffffff");
+        reemplazo.setLikes(5000);
+        index.agregar(reemplazo);
+
+        List<String> resultado = index.buscar("tema", 3);
+        assertEquals(List.of(reemplazo.getId(), agregados.get(2999).getId(), agregados.get(2997).getId()),
+                resultado);
+        assertEquals(3 + 1500 + 1, index.size());
+    }
+}
@@ -0,0 +1,239 @@
+package com.playlist;
+
+import com.playlist.config.PlaylistProperties;
+import com.playlist.model.Video;
+import com.playlist.repository.InMemoryVideoRepository;
+import com.playlist.repository.VideoRepository;
+import com.playlist.service.DuplicatePolicy;
+import com.playlist.service.VideoEvent;
+import com.playlist.service.VideoEventBroadcaster;
+import com.playlist.service.VideoSearchIndex;
+import com.playlist.service.VideoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests de VideoService con mutaciones concurrentes sobre un repositorio real:
+ * likes linealizables, sin altas duplicadas y sin videos perdidos ni revividos
+ */
+@DisplayName("Tests de concurrencia del VideoService")
+class VideoServiceConcurrencyTest {
+
+    private static final int HILOS = 8;
+
+    private VideoRepository repository;
+    private VideoSearchIndex searchIndex;
+    private List<VideoEvent> eventos;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryVideoRepository();
+        searchIndex = new VideoSearchIndex(repository);
+        eventos = Collections.synchronizedList(new ArrayList<>());
+        pool = Executors.newFixedThreadPool(HILOS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Debería asignar a cada like concurrente un total distinto y sin huecos")
+    void testLikesLinealizables() throws Exception {
+        // Arrange
+        VideoService servicio = crearServicio(DuplicatePolicy.REJECT);
+        List<String> ids = IntStream.range(0, 4)
+                .mapToObj(i -> servicio.agregarVideo("Video " + i, "https://youtu.be/video00000" + i).getId())
+                .toList();
+        Map<String, Set<Integer>> totales = new ConcurrentHashMap<>();
+        ids.forEach(id -> totales.put(id, ConcurrentHashMap.newKeySet()));
+        Map<String, AtomicInteger> likesPorVideo = new ConcurrentHashMap<>();
+        ids.forEach(id -> likesPorVideo.put(id, new AtomicInteger()));
+
+        // Act
+        enParalelo(hilo -> {
+            for (int i = 0; i < 500; i++) {
+                String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                int likes = servicio.agregarLike(id).orElseThrow().getLikes();
+                assertTrue(totales.get(id).add(likes), "Total repetido: " + likes);
+                likesPorVideo.get(id).incrementAndGet();
+            }
+        });
+
+        // Assert
+        for (String id : ids) {
+            int esperados = likesPorVideo.get(id).get();
+            assertEquals(esperados, repository.findById(id).orElseThrow().getLikes());
+            assertEquals(IntStream.rangeClosed(1, esperados).boxed().collect(Collectors.toSet()), totales.get(id));
+        }
+        assertEquals(HILOS * 500L, repository.sumLikes());
+    }
+
+    @Test
+    @DisplayName("Debería aceptar una sola de varias altas concurrentes del mismo video")
+    void testAltasConcurrentesSinDuplicados() throws Exception {
+        // Arrange
+        VideoService servicio = crearServicio(DuplicatePolicy.REJECT);
+        AtomicInteger aceptadas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+
+        // Act
+        for (int ronda = 0; ronda < 20; ronda++) {
+            String link = "https://youtu.be/ronda000" + String.format("%03d", ronda);
+            enParalelo(hilo -> {
+                try {
+                    servicio.agregarVideo("Video", link);
+                    aceptadas.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rechazadas.incrementAndGet();
+                }
+            });
+        }
+
+        // Assert
+        assertEquals(20, aceptadas.get());
+        assertEquals(20 * (HILOS - 1), rechazadas.get());
+        assertEquals(20, repository.count());
+        assertEquals(20, searchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Debería dejar eliminado el video aunque reciba likes y favoritos al mismo tiempo")
+    void testEliminarSinRevivir() throws Exception {
+        // Arrange
+        VideoService servicio = crearServicio(DuplicatePolicy.REJECT);
+
+        for (int ronda = 0; ronda < 50; ronda++) {
+            String id = servicio.agregarVideo("Video " + ronda, "https://youtu.be/borrar00" + String.format("%03d", ronda))
+                    .getId();
+            AtomicBoolean eliminado = new AtomicBoolean();
+
+            // Act: un hilo elimina el video mientras los demás le dan like y lo marcan favorito
+            enParalelo(hilo -> {
+                if (hilo == 0) {
+                    Thread.yield();
+                    eliminado.set(servicio.eliminarVideo(id));
+                    return;
+                }
+                for (int i = 0; i < 20; i++) {
+                    if (hilo % 2 == 0) {
+                        servicio.toggleFavorito(id);
+                    } else {
+                        servicio.agregarLike(id);
+                    }
+                }
+            });
+
+            // Assert
+            assertTrue(eliminado.get());
+            assertTrue(repository.findById(id).isEmpty());
+            List<VideoEvent> delVideo = eventosDe(id);
+            assertEquals(VideoEvent.Tipo.ELIMINADO, delVideo.get(delVideo.size() - 1).getTipo());
+        }
+        assertEquals(0, repository.count());
+        assertEquals(0, repository.sumLikes());
+        assertEquals(0, searchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Debería deduplicar sin perder likes concurrentes ni revivir duplicados")
+    void testDeduplicarConLikesConcurrentes() throws Exception {
+        // Arrange: 20 videos, cada uno agregado dos veces
+        VideoService servicio = crearServicio(DuplicatePolicy.ALLOW);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(servicio.agregarVideo("Video " + i, "https://youtu.be/dup0000" + String.format("%04d", i % 20))
+                    .getId());
+        }
+        AtomicInteger likesAplicados = new AtomicInteger();
+
+        // Act: un hilo deduplica mientras los demás dan likes a cualquier video
+        enParalelo(hilo -> {
+            if (hilo == 0) {
+                Thread.yield();
+                servicio.deduplicarVideos();
+                return;
+            }
+            for (int i = 0; i < 200; i++) {
+                String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                if (servicio.agregarLike(id).isPresent()) {
+                    likesAplicados.incrementAndGet();
+                }
+            }
+        });
+
+        // Assert
+        assertEquals(20, repository.count());
+        assertEquals(20, ids.stream().filter(id -> repository.findById(id).isPresent()).count());
+        assertEquals(likesAplicados.get(), repository.sumLikes());
+        assertEquals(20, searchIndex.size());
+    }
+
+    private VideoService crearServicio(DuplicatePolicy politica) {
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getDuplicates().setPolicy(politica);
+        VideoEventBroadcaster broadcaster = mock(VideoEventBroadcaster.class);
+        doAnswer(invocation -> eventos.add(invocation.getArgument(0))).when(broadcaster).publicar(any());
+        return new VideoService(repository, searchIndex, broadcaster, properties);
+    }
+
+    private List<VideoEvent> eventosDe(String id) {
+        synchronized (eventos) {
+            return eventos.stream().filter(evento -> id.equals(evento.getId())).toList();
+        }
+    }
+
+    /**
+     * Ejecuta la tarea en HILOS hilos que arrancan juntos y espera a que terminen;
+     * los errores de cualquier hilo hacen fallar el test
+     */
+    private void enParalelo(Tarea tarea) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Callable<Void>> hilos = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            int hilo = i;
+            hilos.add(() -> {
+                largada.await();
+                tarea.ejecutar(hilo);
+                return null;
+            });
+        }
+        List<Future<Void>> resultados = new ArrayList<>();
+        hilos.forEach(hilo -> resultados.add(pool.submit(hilo)));
+        largada.countDown();
+        for (Future<Void> resultado : resultados) {
+            resultado.get();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Tarea {
+        void ejecutar(int hilo) throws Exception;
+    }
+}
@@ -1,21 +1,36 @@
 package com.playlist;
 
+import com.playlist.config.PlaylistProperties;
 import com.playlist.model.Video;
+import com.playlist.repository.VideoPage;
 import com.playlist.repository.VideoRepository;
+import com.playlist.service.DedupResult;
+import com.playlist.service.DuplicatePolicy;
+import com.playlist.service.ImportFormat;
+import com.playlist.service.ImportResult;
+import com.playlist.service.VideoEvent;
+import com.playlist.service.VideoEventBroadcaster;
+import com.playlist.service.VideoSearchIndex;
 import com.playlist.service.VideoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,7 +43,12 @@ class VideoServiceTest {
     @Mock
     private VideoRepository videoRepository;
 
-    @InjectMocks
+    @Mock
+    private VideoSearchIndex searchIndex;
+
+    @Mock
+    private VideoEventBroadcaster eventos;
+
     private VideoService videoService;
 
     private Video videoEjemplo;
@@ -36,6 +56,7 @@ class VideoServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        videoService = crearServicio(DuplicatePolicy.REJECT);
         videoEjemplo = new Video("Bohemian Rhapsody", "https://www.youtube.com/watch?v=fJ9rUzIMcZQ");
     }
 
@@ -44,8 +65,8 @@ class VideoServiceTest {
     void testObtenerTodosLosVideos() {
         // Arrange
         List<Video> videosEsperados = Arrays.asList(
-                new Video("Video 1", "https://www.youtube.com/watch?v=test1"),
-                new Video("Video 2", "https://www.youtube.com/watch?v=test2")
+                new Video("Video 1", "https://www.youtube.com/watch?v=testVideo01"),
+                new Video("Video 2", "https://www.youtube.com/watch?v=testVideo02")
         );
         when(videoRepository.findAll()).thenReturn(videosEsperados);
 
@@ -87,12 +108,18 @@ class VideoServiceTest {
         assertFalse(resultado.isPresent());
     }
 
+    private VideoService crearServicio(DuplicatePolicy politica) {
+        PlaylistProperties properties = new PlaylistProperties();
+        properties.getDuplicates().setPolicy(politica);
+        return new VideoService(videoRepository, searchIndex, eventos, properties);
+    }
+
     @Test
     @DisplayName("Debería agregar un video exitosamente")
     void testAgregarVideo() {
         // Arrange
         String nombre = "Test Video";
-        String link = "https://www.youtube.com/watch?v=test";
+        String link = "https://www.youtube.com/watch?v=testVideo00";
         when(videoRepository.save(any(Video.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -104,6 +131,7 @@ class VideoServiceTest {
         assertEquals(0, videoGuardado.getLikes());
         assertFalse(videoGuardado.isFavorito());
         verify(videoRepository, times(1)).save(any(Video.class));
+        verify(searchIndex).agregar(videoGuardado);
     }
 
     @Test
@@ -111,7 +139,7 @@ class VideoServiceTest {
     void testAgregarVideoNombreVacio() {
         // Assert
         assertThrows(IllegalArgumentException.class, () -> {
-            videoService.agregarVideo("", "https://www.youtube.com/watch?v=test");
+            videoService.agregarVideo("", "https://www.youtube.com/watch?v=testVideo00");
         });
         verify(videoRepository, never()).save(any(Video.class));
     }
@@ -136,6 +164,55 @@ class VideoServiceTest {
         verify(videoRepository, never()).save(any(Video.class));
     }
 
+    @Test
+    @DisplayName("Debería rechazar un video cuyo id de YouTube ya está en la playlist")
+    void testAgregarVideoDuplicadoRechazado() {
+        // Arrange
+        when(videoRepository.findByYoutubeId("fJ9rUzIMcZQ")).thenReturn(Optional.of(videoEjemplo));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                videoService.agregarVideo("Queen", "https://youtu.be/fJ9rUzIMcZQ"));
+        verify(videoRepository, never()).save(any(Video.class));
+    }
+
+    @Test
+    @DisplayName("Debería devolver el video existente si la política de duplicados es MERGE")
+    void testAgregarVideoDuplicadoMerge() {
+        // Arrange
+        videoService = crearServicio(DuplicatePolicy.MERGE);
+        when(videoRepository.findByYoutubeId("fJ9rUzIMcZQ")).thenReturn(Optional.of(videoEjemplo));
+
+        // Act
+        Video resultado = videoService.agregarVideo("Queen", "https://youtu.be/fJ9rUzIMcZQ");
+
+        // Assert
+        assertEquals(videoEjemplo.getId(), resultado.getId());
+        verify(videoRepository, never()).save(any(Video.class));
+    }
+
+    @Test
+    @DisplayName("Debería eliminar duplicados en una pasada sumando sus likes al más antiguo")
+    void testDeduplicarVideos() {
+        // Arrange
+        Video original = new Video("1", "Original", "https://www.youtube.com/embed/fJ9rUzIMcZQ", 3, false, null);
+        Video otro = new Video("2", "Otro", "https://www.youtube.com/embed/dQw4w9WgXcQ", 1, false, null);
+        Video copia = new Video("3", "Copia", "https://www.youtube.com/embed/fJ9rUzIMcZQ", 2, true, null);
+        when(videoRepository.streamAll()).thenReturn(Stream.of(original, otro, copia));
+        when(videoRepository.deleteAllById(List.of("3"))).thenReturn(1);
+
+        // Act
+        DedupResult resultado = videoService.deduplicarVideos();
+
+        // Assert
+        assertEquals(3, resultado.getRevisados());
+        assertEquals(1, resultado.getEliminados());
+        verify(videoRepository).saveAll(argThat((Collection<Video> videos) -> videos.size() == 1
+                && videos.iterator().next().getLikes() == 5
+                && videos.iterator().next().isFavorito()));
+        verify(searchIndex).quitar("3");
+    }
+
     @Test
     @DisplayName("Debería eliminar un video exitosamente")
     void testEliminarVideo() {
@@ -156,8 +233,8 @@ class VideoServiceTest {
     void testAgregarLike() {
         // Arrange
         String id = videoEjemplo.getId();
-        when(videoRepository.findById(id)).thenReturn(Optional.of(videoEjemplo));
-        when(videoRepository.save(any(Video.class))).thenReturn(videoEjemplo);
+        videoEjemplo.agregarLike();
+        when(videoRepository.incrementarLikes(id)).thenReturn(Optional.of(videoEjemplo));
 
         // Act
         Optional<Video> resultado = videoService.agregarLike(id);
@@ -165,8 +242,52 @@ class VideoServiceTest {
         // Assert
         assertTrue(resultado.isPresent());
         assertEquals(1, resultado.get().getLikes());
-        verify(videoRepository, times(1)).findById(id);
-        verify(videoRepository, times(1)).save(any(Video.class));
+        verify(videoRepository, times(1)).incrementarLikes(id);
+        verify(videoRepository, never()).save(any(Video.class));
+    }
+
+    @Test
+    @DisplayName("Debería avanzar la versión de la playlist solo cuando algo cambia")
+    void testVersionAvanzaConCambios() {
+        // Arrange
+        String id = videoEjemplo.getId();
+        when(videoRepository.incrementarLikes(id)).thenReturn(Optional.of(videoEjemplo));
+        when(videoRepository.incrementarLikes("no-existe")).thenReturn(Optional.empty());
+        String inicial = videoService.obtenerVersion().getEtag();
+
+        // Act
+        videoService.agregarLike("no-existe");
+        String sinCambios = videoService.obtenerVersion().getEtag();
+        videoService.agregarLike(id);
+        String conLike = videoService.obtenerVersion().getEtag();
+
+        // Assert
+        assertEquals(inicial, sinCambios);
+        assertNotEquals(inicial, conLike);
+        assertTrue(conLike.startsWith("\"") && conLike.endsWith("\""));
+        verifyNoMoreInteractions(ignoreStubs(videoRepository));
+    }
+
+    @Test
+    @DisplayName("Debería difundir cada cambio aplicado a los clientes conectados")
+    void testDifundirCambios() {
+        // Arrange
+        String id = videoEjemplo.getId();
+        videoEjemplo.agregarLike();
+        when(videoRepository.incrementarLikes(id)).thenReturn(Optional.of(videoEjemplo));
+        when(videoRepository.incrementarLikes("no-existe")).thenReturn(Optional.empty());
+        when(videoRepository.deleteById(id)).thenReturn(true);
+
+        // Act
+        videoService.agregarLike("no-existe");
+        videoService.agregarLike(id);
+        videoService.eliminarVideo(id);
+
+        // Assert
+        verify(eventos).publicar(argThat(e -> e.getTipo() == VideoEvent.Tipo.LIKES
+                && e.getId().equals(id) && e.getDelta() == 1 && e.getLikes() == 1));
+        verify(eventos).publicar(argThat(e -> e.getTipo() == VideoEvent.Tipo.ELIMINADO && e.getId().equals(id)));
+        verifyNoMoreInteractions(eventos);
     }
 
     @Test
@@ -176,8 +297,10 @@ class VideoServiceTest {
         String id = videoEjemplo.getId();
         assertFalse(videoEjemplo.isFavorito()); // Inicialmente no es favorito
 
-        when(videoRepository.findById(id)).thenReturn(Optional.of(videoEjemplo));
-        when(videoRepository.save(any(Video.class))).thenReturn(videoEjemplo);
+        when(videoRepository.toggleFavorito(id)).thenAnswer(invocation -> {
+            videoEjemplo.toggleFavorito();
+            return Optional.of(videoEjemplo);
+        });
 
         // Act
         Optional<Video> resultado = videoService.toggleFavorito(id);
@@ -185,17 +308,17 @@ class VideoServiceTest {
         // Assert
         assertTrue(resultado.isPresent());
         assertTrue(resultado.get().isFavorito()); // Ahora es favorito
-        verify(videoRepository, times(1)).findById(id);
-        verify(videoRepository, times(1)).save(any(Video.class));
+        verify(videoRepository, times(1)).toggleFavorito(id);
+        verify(videoRepository, never()).save(any(Video.class));
     }
 
     @Test
     @DisplayName("Debería obtener videos favoritos")
     void testObtenerFavoritos() {
         // Arrange
-        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=test1");
+        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=testVideo01");
         video1.toggleFavorito();
-        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=test2");
+        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=testVideo02");
 
         List<Video> favoritos = Arrays.asList(video1);
         when(videoRepository.findFavoritos()).thenReturn(favoritos);
@@ -209,15 +332,50 @@ class VideoServiceTest {
         verify(videoRepository, times(1)).findFavoritos();
     }
 
+    @Test
+    @DisplayName("Debería paginar favoritos limitando el tamaño de página")
+    void testObtenerPaginaFavoritos() {
+        // Arrange
+        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=testVideo01");
+        video1.toggleFavorito();
+        VideoPage pagina = new VideoPage(List.of(video1), null);
+        when(videoRepository.findFavoritosPage(null, 100)).thenReturn(pagina);
+
+        // Act
+        VideoPage resultado = videoService.obtenerPaginaFavoritos(null, 10_000);
+
+        // Assert
+        assertSame(pagina, resultado);
+        verify(videoRepository, never()).findFavoritos();
+    }
+
+    @Test
+    @DisplayName("Debería devolver los resultados de búsqueda en el orden del índice")
+    void testBuscarVideos() {
+        // Arrange
+        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=testVideo01");
+        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=testVideo02");
+        when(searchIndex.buscar("vid", 20)).thenReturn(List.of(video2.getId(), "eliminado", video1.getId()));
+        when(videoRepository.findById(video1.getId())).thenReturn(Optional.of(video1));
+        when(videoRepository.findById(video2.getId())).thenReturn(Optional.of(video2));
+        when(videoRepository.findById("eliminado")).thenReturn(Optional.empty());
+
+        // Act
+        List<Video> resultado = videoService.buscarVideos("vid", 20);
+
+        // Assert
+        assertEquals(List.of(video2, video1), resultado);
+    }
+
     @Test
     @DisplayName("Debería obtener top videos por likes")
     void testObtenerTopVideos() {
         // Arrange
-        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=test1");
+        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=testVideo01");
         video1.agregarLike();
         video1.agregarLike();
 
-        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=test2");
+        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=testVideo02");
         video2.agregarLike();
 
         List<Video> topVideos = Arrays.asList(video1, video2);
@@ -236,16 +394,9 @@ class VideoServiceTest {
     @DisplayName("Debería obtener estadísticas correctamente")
     void testObtenerEstadisticas() {
         // Arrange
-        Video video1 = new Video("Video 1", "https://www.youtube.com/watch?v=test1");
-        video1.toggleFavorito();
-        video1.agregarLike();
-
-        Video video2 = new Video("Video 2", "https://www.youtube.com/watch?v=test2");
-        video2.agregarLike();
-        video2.agregarLike();
-
-        List<Video> videos = Arrays.asList(video1, video2);
-        when(videoRepository.findAll()).thenReturn(videos);
+        when(videoRepository.count()).thenReturn(2L);
+        when(videoRepository.countFavoritos()).thenReturn(1L);
+        when(videoRepository.sumLikes()).thenReturn(3L);
 
         // Act
         VideoService.PlaylistStats stats = videoService.obtenerEstadisticas();
@@ -254,5 +405,86 @@ class VideoServiceTest {
         assertEquals(2, stats.getTotalVideos());
         assertEquals(1, stats.getTotalFavoritos());
         assertEquals(3, stats.getTotalLikes());
+        verify(videoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Debería importar en lote descartando filas inválidas y duplicadas")
+    void testImportarVideosCsv() throws Exception {
+        // Arrange
+        String csv = "nombre,link\n"
+                + "Bohemian Rhapsody,https://www.youtube.com/watch?v=fJ9rUzIMcZQ\n"
+                + "\"Queen, Live\",https://youtu.be/fJ9rUzIMcZQ\n"
+                + "Sin link,\n"
+                + "Otro,https://www.google.com\n"
+                + "Rick,https://youtu.be/dQw4w9WgXcQ\n";
+
+        // Act
+        ImportResult resultado = videoService.importarVideos(new StringReader(csv), ImportFormat.CSV);
+
+        // Assert
+        assertEquals(5, resultado.getTotalFilas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(1, resultado.getDuplicados());
+        assertEquals(List.of(3, 4, 5), resultado.getErrores().stream()
+                .map(ImportResult.ErrorFila::getFila).toList());
+        verify(videoRepository, times(1)).saveAll(argThat((Collection<Video> videos) -> videos.size() == 2));
+        verify(videoRepository, never()).save(any(Video.class));
+    }
+
+    @Test
+    @DisplayName("Debería importar un archivo grande por lotes, detectando duplicados entre lotes")
+    void testImportarVideosPorLotes() throws Exception {
+        // Arrange: 2500 filas; la última repite el video de la primera
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 2499; i++) {
+            ndjson.append(String.format("{\"nombre\":\"Video %d\",\"link\":\"https://youtu.be/vid%08d\"}%n", i, i));
+        }
+        ndjson.append("{\"nombre\":\"Repetido\",\"link\":\"https://youtu.be/vid00000000\"}\n");
+
+        Set<String> guardados = new HashSet<>();
+        List<Integer> tamanosLote = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<Video> videos = invocation.getArgument(0);
+            tamanosLote.add(videos.size());
+            videos.forEach(video -> guardados.add(video.getVideoIdParaEmbed()));
+            return null;
+        }).when(videoRepository).saveAll(any());
+        when(videoRepository.findByYoutubeId(any())).thenAnswer(invocation ->
+                guardados.contains(invocation.<String>getArgument(0)) ? Optional.of(videoEjemplo) : Optional.empty());
+
+        // Act
+        ImportResult resultado = videoService.importarVideos(new StringReader(ndjson.toString()), ImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(2500, resultado.getTotalFilas());
+        assertEquals(2499, resultado.getImportados());
+        assertEquals(1, resultado.getDuplicados());
+        assertEquals(2500, resultado.getErrores().get(0).getFila());
+        assertEquals(List.of(1000, 1000, 499), tamanosLote);
+        verify(eventos, times(1)).publicar(any(VideoEvent.class));
+    }
+
+    @Test
+    @DisplayName("Debería descartar duplicados al importar con la configuración por defecto")
+    void testImportarVideosDescartaDuplicadosPorDefecto() throws Exception {
+        // Arrange: la política por defecto (ALLOW) solo afecta a las altas de a una
+        VideoService servicio = new VideoService(videoRepository, searchIndex, eventos, new PlaylistProperties());
+        String csv = "Bohemian Rhapsody,https://www.youtube.com/watch?v=fJ9rUzIMcZQ\n"
+                + "Queen Live,https://youtu.be/fJ9rUzIMcZQ\n"
+                + "Rick,https://youtu.be/dQw4w9WgXcQ\n"
+                + "Sin link,\n";
+        when(videoRepository.findByYoutubeId("dQw4w9WgXcQ")).thenReturn(Optional.of(videoEjemplo));
+
+        // Act
+        ImportResult resultado = servicio.importarVideos(new StringReader(csv), ImportFormat.CSV);
+
+        // Assert: los duplicados se omiten sin informarlos como error
+        assertEquals(4, resultado.getTotalFilas());
+        assertEquals(1, resultado.getImportados());
+        assertEquals(2, resultado.getDuplicados());
+        assertEquals(List.of(4), resultado.getErrores().stream()
+                .map(ImportResult.ErrorFila::getFila).toList());
+        verify(videoRepository, times(1)).saveAll(argThat((Collection<Video> videos) -> videos.size() == 1));
     }
 }
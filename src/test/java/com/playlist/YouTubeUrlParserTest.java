@@ -0,0 +1,138 @@
+package com.playlist;
+
+import com.playlist.model.YouTubeUrlParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del parser de URLs de YouTube, con casos conocidos y fuzzing contra una expresión regular
+ */
+@DisplayName("Tests del YouTubeUrlParser")
+class YouTubeUrlParserTest {
+
+    private static final String ID = "dQw4w9WgXcQ";
+    private static final String EMBEBIDA = "https://www.youtube.com/embed/" + ID;
+
+    // Misma gramática que el parser, escrita como expresión regular (oráculo del fuzzing)
+    private static final String ID_REGEX = "([A-Za-z0-9_-]{11})";
+    private static final Pattern ORACULO = Pattern.compile("(?s)^[\\x00-\\x20]*(?i:https?://)?"
+            + "(?:(?i:youtu\\.be/)" + ID_REGEX
+            + "|(?i:(?:www\\.|m\\.|music\\.)?(?:youtube\\.com|youtube-nocookie\\.com)/)"
+            + "(?:watch\\?(?:[^&#]*&)*v=" + ID_REGEX + "|(?:embed|shorts|live|v)/" + ID_REGEX + "))"
+            + "(?:[?&#/].*?)?[\\x00-\\x20]*$");
+
+    @Test
+    @DisplayName("Debería extraer el id de todos los formatos soportados")
+    void testFormatosValidos() {
+        String[] urls = {
+                "https://www.youtube.com/watch?v=" + ID,
+                "http://youtube.com/watch?v=" + ID + "&t=10s",
+                "https://www.youtube.com/watch?feature=share&list=PL1&v=" + ID,
+                "www.youtube.com/watch?v=" + ID + "#t=30",
+                "https://m.youtube.com/watch?v=" + ID,
+                "https://music.youtube.com/watch?v=" + ID + "&si=abc",
+                "https://youtu.be/" + ID,
+                "youtu.be/" + ID + "?si=xyz",
+                "HTTPS://WWW.YOUTUBE.COM/watch?v=" + ID,
+                "https://www.youtube.com/shorts/" + ID,
+                "https://www.youtube.com/live/" + ID + "?feature=share",
+                "https://www.youtube.com/v/" + ID,
+                "https://www.youtube-nocookie.com/embed/" + ID,
+                "  " + EMBEBIDA + "\n"
+        };
+
+        for (String url : urls) {
+            assertTrue(YouTubeUrlParser.esValida(url), url);
+            assertEquals(ID, YouTubeUrlParser.extraerId(url), url);
+            assertEquals(EMBEBIDA, YouTubeUrlParser.aUrlEmbebida(url), url);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar URLs que no son de un video de YouTube")
+    void testFormatosInvalidos() {
+        String[] urls = {
+                null,
+                "",
+                "https://www.google.com",
+                "https://www.youtube.com/watch?v=test",
+                "https://www.youtube.com/watch?v=" + ID + "extra",
+                "https://www.youtube.com/watch?list=PL1",
+                "https://www.youtube.com/watch?x=1#v=" + ID,
+                "https://www.youtube.com/channel/" + ID,
+                "https://www.youtube.com.evil.com/watch?v=" + ID,
+                "https://evil.com/youtube.com/watch?v=" + ID,
+                "https://www.youtu.be/" + ID,
+                "https://youtu.be/dQw4w9WgXc!",
+                "ftp://youtube.com/watch?v=" + ID
+        };
+
+        for (String url : urls) {
+            assertFalse(YouTubeUrlParser.esValida(url), String.valueOf(url));
+            assertNull(YouTubeUrlParser.extraerId(url), String.valueOf(url));
+            assertEquals(url, YouTubeUrlParser.aUrlEmbebida(url));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería devolver la misma instancia si la URL ya es la embebida canónica")
+    void testUrlCanonicaSinCopias() {
+        assertSame(EMBEBIDA, YouTubeUrlParser.aUrlEmbebida(EMBEBIDA));
+    }
+
+    @Test
+    @DisplayName("Debería coincidir con la expresión regular en URLs generadas al azar")
+    void testFuzzingContraOraculo() {
+        String[] fragmentos = {
+                "https://", "http://", "HTTP://", "www.", "m.", "music.", "youtube.com/", "youtu.be/",
+                "youtube-nocookie.com/", "watch?", "v=", "&", "#", "?", "/", "embed/", "shorts/", "live/",
+                "v/", ID, "abc", "-_", " ", "\t", "é", ".", "=", "t=10s&", "x"
+        };
+        Random random = new Random(42);
+
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder url = new StringBuilder();
+            if (random.nextBoolean()) {
+                // URL válida con una mutación al azar
+                url.append("https://www.youtube.com/watch?v=").append(ID);
+                int posicion = random.nextInt(url.length());
+                switch (random.nextInt(3)) {
+                    case 0 -> url.deleteCharAt(posicion);
+                    case 1 -> url.insert(posicion, (char) random.nextInt(128));
+                    default -> url.setCharAt(posicion, (char) random.nextInt(128));
+                }
+            } else {
+                int partes = 1 + random.nextInt(8);
+                for (int i = 0; i < partes; i++) {
+                    url.append(fragmentos[random.nextInt(fragmentos.length)]);
+                }
+            }
+            verificarContraOraculo(url.toString());
+        }
+    }
+
+    private static void verificarContraOraculo(String url) {
+        Matcher matcher = ORACULO.matcher(url);
+        String esperado = null;
+        if (matcher.matches()) {
+            for (int grupo = 1; grupo <= matcher.groupCount() && esperado == null; grupo++) {
+                esperado = matcher.group(grupo);
+            }
+        }
+
+        String id = YouTubeUrlParser.extraerId(url);
+        assertEquals(esperado, id, () -> "URL: [" + url + "]");
+        if (id != null) {
+            // La URL embebida es estable: volver a normalizarla no la cambia
+            String embebida = YouTubeUrlParser.aUrlEmbebida(url);
+            assertEquals(id, YouTubeUrlParser.extraerId(embebida));
+            assertSame(embebida, YouTubeUrlParser.aUrlEmbebida(embebida));
+        }
+    }
+}